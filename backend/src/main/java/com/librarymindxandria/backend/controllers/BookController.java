@@ -1,18 +1,38 @@
 package com.librarymindxandria.backend.controllers;
 
+import com.librarymindxandria.backend.core.cache.CatalogVersion;
+import com.librarymindxandria.backend.core.web.BookPageWriter;
+import com.librarymindxandria.backend.dtos.book.BookCursorPageDTO;
 import com.librarymindxandria.backend.dtos.book.BookRequestDTO;
 import com.librarymindxandria.backend.dtos.book.BookUpdateRequestDTO;
 import com.librarymindxandria.backend.dtos.book.BookResponseDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowPageDTO;
 import com.librarymindxandria.backend.dtos.genre.GenreStatDTO;
+import com.librarymindxandria.backend.enums.BookView;
+import com.librarymindxandria.backend.enums.ExportFormat;
+import com.librarymindxandria.backend.services.BookExportService;
+import com.librarymindxandria.backend.services.BookImportService;
 import com.librarymindxandria.backend.services.BookService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -20,26 +40,72 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final CatalogVersion catalogVersion;
+    private final BookPageWriter bookPageWriter;
 
     @GetMapping
-    public ResponseEntity<List<BookResponseDTO>> getMyBooks(){
-        List<BookResponseDTO> myBooks = bookService.getMyBooks();
+    public ResponseEntity<List<BookResponseDTO>> getMyBooks(@RequestParam(required = false) String view){
+        List<BookResponseDTO> myBooks = bookService.getMyBooks(BookView.fromParam(view));
         return ResponseEntity.ok(myBooks);
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<List<GenreStatDTO>> getGenreStats(){
+    public ResponseEntity<List<GenreStatDTO>> getGenreStats(WebRequest webRequest){
+        if (webRequest.checkNotModified(catalogVersion.etag("stats"))) {
+            return null;
+        }
         List<GenreStatDTO> stats = bookService.getGenreStats();
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(stats);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Page<BookResponseDTO>> getAllBooks(
+    public void getAllBooks(
             @RequestParam(required = false) String search,
-            Pageable pageable) {
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) String view,
+            Pageable pageable,
+            WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
 
-        Page<BookResponseDTO> bookPage = bookService.getAllBooks(search, pageable);
-        return ResponseEntity.ok(bookPage);
+        BookView bookView = BookView.fromParam(view);
+        if (webRequest.checkNotModified(catalogVersion.etag("all", search, fuzzy, bookView, pageable))) {
+            return;
+        }
+        BookRowPageDTO bookPage = bookService.getAllBookRows(search, fuzzy, bookView, pageable);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        bookPageWriter.write(bookPage, response.getOutputStream());
+    }
+
+    @GetMapping("/export")
+    public void exportBooks(@RequestParam(required = false) String format, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        if (exportFormat == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato de exportação inválido");
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books." + exportFormat.getExtension() + "\"");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        bookExportService.export(exportFormat, writer);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BookResponseDTO> getBook(@PathVariable String id) {
+        return ResponseEntity.ok(bookService.getBook(id));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<BookCursorPageDTO> scrollBooks(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String view) {
+
+        return ResponseEntity.ok(bookService.scrollBooks(search, cursor, size, BookView.fromParam(view)));
     }
 
     @PostMapping("/upload")
@@ -47,6 +113,13 @@ public class BookController {
       return ResponseEntity.ok(bookService.createBook(bookRequestDTO));
     }
 
+    @PostMapping(value = "/bulk", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public void bulkUpload(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        bookImportService.importBooks(request.getInputStream(), response.getOutputStream());
+    }
+
     @PostMapping("/{id}/cover")
     public ResponseEntity<BookResponseDTO> uploadCover(
             @PathVariable String id,
@@ -1,30 +1,78 @@
 package com.librarymindxandria.backend.controllers;
 
+import com.librarymindxandria.backend.core.web.FileResponseWriter;
 import com.librarymindxandria.backend.dtos.upload.LoadedFile;
+import com.librarymindxandria.backend.enums.CoverSize;
 import com.librarymindxandria.backend.services.FileStorageService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
 @RestController
 @RequestMapping("/files")
-@RequiredArgsConstructor
 public class FileStorageController {
+    private static final Pattern IMMUTABLE_NAME =
+            Pattern.compile("^(?:[0-9a-f]{64}(?:\\.[A-Za-z0-9]+)?|[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+)$");
+    // Statuses FileResponseWriter answers with, plus failures before it runs
+    private static final List<String> STATUSES = List.of("200", "206", "304", "416", "error");
+    private static final String ORIGINAL = "original";
+
     private final FileStorageService fileStorageService;
+    private final FileResponseWriter fileResponseWriter;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, DistributionSummary> servedBytes = new HashMap<>();
+    private final Map<String, Map<String, Timer>> downloads = new HashMap<>();
+
+    public FileStorageController(FileStorageService fileStorageService,
+                                 FileResponseWriter fileResponseWriter,
+                                 MeterRegistry meterRegistry) {
+        this.fileStorageService = fileStorageService;
+        this.fileResponseWriter = fileResponseWriter;
+        this.meterRegistry = meterRegistry;
+
+        registerMeters(ORIGINAL);
+        for (CoverSize coverSize : CoverSize.values()) {
+            registerMeters(coverSize.name().toLowerCase(Locale.ROOT));
+        }
+    }
 
     @GetMapping("/{filename:.+}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String filename) {
+    public void downloadFile(@PathVariable String filename,
+                             @RequestParam(required = false) String size,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
 
-        LoadedFile loadedFile = fileStorageService.loadFileAsResource(filename);
+        CoverSize coverSize = CoverSize.fromParam(size);
+        String sizeTag = coverSize == null ? ORIGINAL : coverSize.name().toLowerCase(Locale.ROOT);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "error";
+        try {
+            LoadedFile loadedFile = fileStorageService.loadFileAsResource(filename, coverSize);
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(loadedFile.contentType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + loadedFile.resource().getFilename() + "\"")
-                .body(loadedFile.resource());
+            boolean variantPending = coverSize != null
+                    && !loadedFile.path().getFileName().toString().equals(coverSize.variantName(filename));
+            boolean immutable = !variantPending && IMMUTABLE_NAME.matcher(filename).matches();
+
+            long bytes = fileResponseWriter.write(loadedFile, immutable, request, response);
+            status = String.valueOf(response.getStatus());
+            servedBytes.get(sizeTag).record(bytes);
+        } finally {
+            sample.stop(downloads.get(sizeTag).computeIfAbsent(status, key -> downloadTimer(sizeTag, key)));
+        }
     }
 
     @PostMapping("/upload-file")
@@ -32,4 +80,26 @@ public class FileStorageController {
         String fileDownloadUri = fileStorageService.storeFile(file);
         return ResponseEntity.ok(fileDownloadUri);
     }
+
+    private void registerMeters(String sizeTag) {
+        servedBytes.put(sizeTag, DistributionSummary.builder("library.files.served.bytes")
+                .baseUnit("bytes")
+                .tag("size", sizeTag)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        Map<String, Timer> byStatus = new ConcurrentHashMap<>();
+        for (String status : STATUSES) {
+            byStatus.put(status, downloadTimer(sizeTag, status));
+        }
+        downloads.put(sizeTag, byStatus);
+    }
+
+    // Tags are limited to the cover size and HTTP status, never the file name
+    private Timer downloadTimer(String sizeTag, String status) {
+        return Timer.builder("library.files.download")
+                .tag("size", sizeTag)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,18 @@
+package com.librarymindxandria.backend.core.cache;
+
+/**
+ * Names of the Hibernate second-level cache regions configured in
+ * {@link com.librarymindxandria.backend.core.config.HibernateCacheConfig}.
+ */
+public final class CacheRegions {
+    public static final String BOOKS = "books";
+    public static final String BOOK_GENRES = "book-genres";
+    public static final String USERS = "users";
+    public static final String BOOK_QUERIES = "book-queries";
+    public static final String USER_QUERIES = "user-queries";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+
+    private CacheRegions() {
+    }
+}
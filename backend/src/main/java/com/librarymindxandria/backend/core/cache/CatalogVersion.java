@@ -0,0 +1,54 @@
+package com.librarymindxandria.backend.core.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the public catalog, kept in memory like the search
+ * indexes and counters it describes. Writers bump it at the end of their
+ * after-commit callback, once those structures have been updated, so a tag is
+ * never issued for the new version over the old data. Seeded with the start
+ * time so tags issued before a restart never match afterwards.
+ */
+@Component
+public class CatalogVersion {
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Call after the in-memory views of the write have been updated.
+     */
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Weak ETag for a response derived from the current version and a
+     * SHA-256 of the parameters that shaped it. Must be computed before the
+     * data is read.
+     */
+    public String etag(Object... parameters) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+        for (Object parameter : parameters) {
+            if (parameter != null) {
+                sha256.update((byte) 1);
+                sha256.update(parameter.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            sha256.update((byte) 0);
+        }
+        return "W/\"" + Long.toHexString(current()) + "-" + HexFormat.of().formatHex(sha256.digest(), 0, 16) + "\"";
+    }
+}
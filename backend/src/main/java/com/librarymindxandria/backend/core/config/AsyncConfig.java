@@ -0,0 +1,28 @@
+package com.librarymindxandria.backend.core.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Image resizing is CPU bound, so it gets its own small pool with a
+     * bounded queue instead of competing with request threads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor coverVariantExecutor(
+            @Value("${files.variants.pool-size:2}") int poolSize,
+            @Value("${files.variants.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cover-variant-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,29 +1,53 @@
 package com.librarymindxandria.backend.core.config;
 
+import com.librarymindxandria.backend.core.security.AuthenticatedUser;
+import com.librarymindxandria.backend.core.security.PrincipalCache;
 import com.librarymindxandria.backend.models.User;
 import com.librarymindxandria.backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import java.util.ArrayList;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    public AuthenticatedUser loadUserByUsername(String email) throws UsernameNotFoundException {
+        AuthenticatedUser cached = principalCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + email));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                new ArrayList<>());
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        principalCache.put(principal);
+        return principal;
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose
+     * hash was made with a lower BCrypt cost than the current one.
+     */
+    @Override
+    @Transactional
+    public AuthenticatedUser updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + userDetails.getUsername()));
+
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
+        return AuthenticatedUser.from(user);
     }
 }
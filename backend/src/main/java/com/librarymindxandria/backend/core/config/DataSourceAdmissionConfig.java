@@ -0,0 +1,32 @@
+package com.librarymindxandria.backend.core.config;
+
+import com.librarymindxandria.backend.core.datasource.AdmissionControlDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@ConditionalOnProperty(name = "db.admission.enabled", havingValue = "true")
+public class DataSourceAdmissionConfig {
+
+    /**
+     * Wraps the Hikari pool so the number of admitted callers always matches
+     * its configured maximum size.
+     */
+    @Bean
+    public static BeanPostProcessor admissionControlDataSourcePostProcessor(Environment environment) {
+        long timeoutMillis = environment.getProperty("db.admission.timeout-ms", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new AdmissionControlDataSource(hikari, hikari.getMaximumPoolSize(), timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.librarymindxandria.backend.core.config;
+
+import com.librarymindxandria.backend.core.cache.CacheRegions;
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * In-process Hibernate second-level cache backed by Ehcache. Every region is
+ * bounded by entry count; entity and query regions also expire after a TTL,
+ * while the update-timestamps region never expires so cached queries are
+ * always invalidated by writes to their tables. Cacheable queries without an
+ * explicit region land in the default query-results region. Hibernate fails
+ * at startup on any region that is missing here.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.hibernate.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${cache.hibernate.books.max-entries:10000}") long bookEntries,
+            @Value("${cache.hibernate.users.max-entries:10000}") long userEntries,
+            @Value("${cache.hibernate.queries.max-entries:1000}") long queryEntries,
+            @Value("${cache.hibernate.default-queries.max-entries:500}") long defaultQueryEntries,
+            @Value("${cache.hibernate.default-queries.ttl-seconds:600}") long defaultQueryTtlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(CacheRegions.BOOKS, region(bookEntries, ttl))
+                .withCache(CacheRegions.BOOK_GENRES, region(bookEntries, ttl))
+                .withCache(CacheRegions.USERS, region(userEntries, ttl))
+                .withCache(CacheRegions.BOOK_QUERIES, region(queryEntries, ttl))
+                .withCache(CacheRegions.USER_QUERIES, region(userEntries, ttl))
+                .withCache(CacheRegions.DEFAULT_QUERY_RESULTS,
+                        region(defaultQueryEntries, Duration.ofSeconds(defaultQueryTtlSeconds)))
+                .withCache(CacheRegions.UPDATE_TIMESTAMPS, region(queryEntries, null))
+                .build();
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:hibernate-l2:" + UUID.randomUUID()), configuration);
+        for (String region : cacheManager.getCacheNames()) {
+            cacheManager.enableStatistics(region, true);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            CacheManager hibernateCacheManager,
+            @Value("${cache.hibernate.statistics:true}") boolean statistics) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+
+    private static CacheConfiguration<Object, Object> region(long maxEntries, Duration ttl) {
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries));
+        if (ttl != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+        }
+        return builder.build();
+    }
+}
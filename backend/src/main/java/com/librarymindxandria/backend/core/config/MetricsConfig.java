@@ -0,0 +1,71 @@
+package com.librarymindxandria.backend.core.config;
+
+import com.librarymindxandria.backend.core.cache.BoundedExpiringCache;
+import com.librarymindxandria.backend.core.security.PrincipalCache;
+import com.librarymindxandria.backend.core.security.password.BoundedPasswordEncoder;
+import com.librarymindxandria.backend.core.security.ratelimit.RateLimitFilter;
+import com.librarymindxandria.backend.core.security.ratelimit.TokenBucketLimiter;
+import com.librarymindxandria.backend.core.security.token.TokenProvider;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times every public method of classes annotated with {@code @Timed},
+     * tagged by class and method name only.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder securityCacheMetrics(TokenProvider tokenProvider, PrincipalCache principalCache) {
+        return registry -> {
+            bind(registry, "jwt", tokenProvider.getVerifiedTokens());
+            bind(registry, "principal", principalCache.getPrincipals());
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("library.password.queue", passwordEncoder, BoundedPasswordEncoder::getQueueSize)
+                    .register(registry);
+            Gauge.builder("library.password.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                    .register(registry);
+            Gauge.builder("library.password.cost", passwordEncoder, BoundedPasswordEncoder::getCost)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitFilter rateLimitFilter) {
+        return registry -> rateLimitFilter.getLimiters().forEach(limiter ->
+                Gauge.builder("library.ratelimit.keys", limiter, TokenBucketLimiter::size)
+                        .tag("rule", limiter.getName())
+                        .register(registry));
+    }
+
+    private static void bind(MeterRegistry registry, String name, BoundedExpiringCache<?, ?> cache) {
+        FunctionCounter.builder("library.cache.hits", cache, BoundedExpiringCache::hitCount)
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("library.cache.misses", cache, BoundedExpiringCache::missCount)
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("library.cache.evictions", cache, BoundedExpiringCache::evictionCount)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("library.cache.size", cache, BoundedExpiringCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.librarymindxandria.backend.core.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Partial indexes over live books, which JPA cannot declare. Catalog reads
+ * all filter on {@code deleted_at IS NULL}, so these indexes leave tombstones
+ * out, and the purge job gets its own index on the tombstones. They are built
+ * concurrently on PostgreSQL; other databases (H2 in the local profile and in
+ * tests) are skipped.
+ */
+@Component
+public class PartialIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartialIndexInitializer.class);
+
+    private static final List<String> INDEXES = List.of(
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_live_created_at_id " +
+                    "ON books (created_at DESC, id DESC) WHERE deleted_at IS NULL",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_live_user_id " +
+                    "ON books (user_id) WHERE deleted_at IS NULL",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_deleted_at " +
+                    "ON books (deleted_at) WHERE deleted_at IS NOT NULL"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PartialIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            logger.info("Índices parciais ignorados: banco {} não é PostgreSQL", database);
+            return;
+        }
+
+        for (String statement : INDEXES) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException ex) {
+                logger.warn("Não foi possível criar o índice parcial: {}", statement, ex);
+            }
+        }
+    }
+}
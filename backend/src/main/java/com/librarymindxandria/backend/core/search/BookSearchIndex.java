@@ -0,0 +1,181 @@
+package com.librarymindxandria.backend.core.search;
+
+import com.librarymindxandria.backend.dtos.book.BookIndexDTO;
+import com.librarymindxandria.backend.repositories.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index over {@code Book.name} and {@code Book.shortDescription}.
+ * Answers catalog searches with ranked book ids so the database is only
+ * touched to hydrate the requested page.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_TERM_BOOST = 2;
+
+    private final BookRepository bookRepository;
+
+    private final Map<String, Map<String, Integer>> postings = new ConcurrentHashMap<>();
+    private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+    private final Map<String, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> createdAt = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try (Stream<BookIndexDTO> books = bookRepository.streamAllForIndex()) {
+            books.forEach(book -> index(book.getId(), book.getName(), book.getShortDescription(), book.getCreatedAt()));
+        }
+        ready = true;
+        logger.info("Índice de busca carregado: {} livros, {} termos em {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(String bookId, String name, String shortDescription, LocalDateTime bookCreatedAt) {
+        Map<String, Integer> weights = new HashMap<>();
+        SearchText.tokenize(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+        SearchText.tokenize(shortDescription).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        if (bookCreatedAt != null) {
+            createdAt.put(bookId, bookCreatedAt);
+        }
+        Map<String, Integer> previous = documents.put(bookId, weights);
+        if (previous != null) {
+            previous.keySet().forEach(term -> removePosting(term, bookId));
+        }
+        weights.forEach((term, weight) -> postings.compute(term, (key, docs) -> {
+            if (docs == null) {
+                docs = new ConcurrentHashMap<>();
+                terms.add(key);
+            }
+            docs.put(bookId, weight);
+            return docs;
+        }));
+    }
+
+    public void remove(String bookId) {
+        createdAt.remove(bookId);
+        Map<String, Integer> previous = documents.remove(bookId);
+        if (previous != null) {
+            previous.keySet().forEach(term -> removePosting(term, bookId));
+        }
+    }
+
+    /**
+     * Every query token must prefix-match a term of the book; books are ranked
+     * by summed weight, with exact term matches counting double.
+     */
+    public List<String> search(String query) {
+        return score(query).entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Matches in {@code (createdAt, id)} descending order that come strictly
+     * after the given position, for keyset pagination over search results.
+     * Positions are returned rather than ids so the caller can build the next
+     * cursor even if some books are gone by the time their rows are loaded.
+     */
+    public List<Position> searchAfter(String query, LocalDateTime afterCreatedAt, String afterId, int limit) {
+        PriorityQueue<Position> oldestOnTop = new PriorityQueue<>(limit + 1, Position.NEWEST_FIRST.reversed());
+
+        for (String bookId : score(query).keySet()) {
+            LocalDateTime bookCreatedAt = createdAt.get(bookId);
+            if (bookCreatedAt == null) {
+                continue;
+            }
+            int order = bookCreatedAt.compareTo(afterCreatedAt);
+            if (order > 0 || (order == 0 && bookId.compareTo(afterId) >= 0)) {
+                continue;
+            }
+            oldestOnTop.add(new Position(bookId, bookCreatedAt));
+            if (oldestOnTop.size() > limit) {
+                oldestOnTop.poll();
+            }
+        }
+
+        List<Position> page = new ArrayList<>(oldestOnTop);
+        page.sort(Position.NEWEST_FIRST);
+        return page;
+    }
+
+    private Map<String, Integer> score(String query) {
+        Map<String, Integer> scores = null;
+
+        for (String token : new LinkedHashSet<>(SearchText.tokenize(query))) {
+            Map<String, Integer> tokenScores = new HashMap<>();
+            for (String term : terms.subSet(token, true, token + Character.MAX_VALUE, true)) {
+                Map<String, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    continue;
+                }
+                int boost = term.equals(token) ? EXACT_TERM_BOOST : 1;
+                docs.forEach((bookId, weight) -> tokenScores.merge(bookId, weight * boost, Math::max));
+            }
+
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((bookId, score) -> score + tokenScores.get(bookId));
+            }
+            if (scores.isEmpty()) {
+                return scores;
+            }
+        }
+
+        return scores == null ? Map.of() : scores;
+    }
+
+    public record Position(String bookId, LocalDateTime createdAt) {
+        static final Comparator<Position> NEWEST_FIRST = Comparator.comparing(Position::createdAt)
+                .thenComparing(Position::bookId)
+                .reversed();
+    }
+
+    private void removePosting(String term, String bookId) {
+        postings.computeIfPresent(term, (key, docs) -> {
+            docs.remove(bookId);
+            if (docs.isEmpty()) {
+                terms.remove(key);
+                return null;
+            }
+            return docs;
+        });
+    }
+}
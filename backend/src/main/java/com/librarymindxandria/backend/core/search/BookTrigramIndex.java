@@ -0,0 +1,179 @@
+package com.librarymindxandria.backend.core.search;
+
+import com.librarymindxandria.backend.dtos.book.BookIndexDTO;
+import com.librarymindxandria.backend.repositories.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Trigram index over {@code Book.name} for typo-tolerant searches. Similarity
+ * is the same Jaccard measure used by pg_trgm. Both the posting entries read
+ * and the candidates scored are capped, so the cost of a query does not grow
+ * with the catalog.
+ */
+@Component
+public class BookTrigramIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookTrigramIndex.class);
+
+    private final BookRepository bookRepository;
+    private final int maxCandidates;
+    private final int maxPostings;
+    private final double minSimilarity;
+
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> documents = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    public BookTrigramIndex(BookRepository bookRepository,
+                            @Value("${search.fuzzy.max-candidates:500}") int maxCandidates,
+                            @Value("${search.fuzzy.max-postings:200000}") int maxPostings,
+                            @Value("${search.fuzzy.min-similarity:0.3}") double minSimilarity) {
+        this.bookRepository = bookRepository;
+        this.maxCandidates = maxCandidates;
+        this.maxPostings = maxPostings;
+        this.minSimilarity = minSimilarity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try (Stream<BookIndexDTO> books = bookRepository.streamAllForIndex()) {
+            books.forEach(book -> index(book.getId(), book.getName()));
+        }
+        ready = true;
+        logger.info("Índice de trigramas carregado: {} livros, {} trigramas em {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(String bookId, String name) {
+        Set<String> grams = trigrams(name);
+        Set<String> previous = documents.put(bookId, grams);
+        if (previous != null) {
+            previous.forEach(gram -> removePosting(gram, bookId));
+        }
+        grams.forEach(gram -> postings.compute(gram, (key, docs) -> {
+            if (docs == null) {
+                docs = ConcurrentHashMap.newKeySet();
+            }
+            docs.add(bookId);
+            return docs;
+        }));
+    }
+
+    public void remove(String bookId) {
+        Set<String> previous = documents.remove(bookId);
+        if (previous != null) {
+            previous.forEach(gram -> removePosting(gram, bookId));
+        }
+    }
+
+    /**
+     * ScanCount over the posting lists, rarest first, until
+     * {@code maxPostings} entries have been read; the most common trigrams
+     * left over are only checked for the best candidates. Candidates are
+     * ranked by how many query trigrams they share, which keeps the real
+     * match when the rarest trigrams come from a typo, and only the top
+     * {@code maxCandidates} get an exact Jaccard score.
+     */
+    public List<String> search(String query) {
+        Set<String> queryGrams = trigrams(query);
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+
+        List<Set<String>> lists = queryGrams.stream()
+                .map(postings::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+
+        Map<String, Integer> overlap = new HashMap<>();
+        int scanned = 0;
+        int scannedLists = 0;
+        for (Set<String> docs : lists) {
+            if (scannedLists > 0 && scanned + docs.size() > maxPostings) {
+                break;
+            }
+            for (String bookId : docs) {
+                overlap.merge(bookId, 1, Integer::sum);
+            }
+            scanned += docs.size();
+            scannedLists++;
+        }
+        List<Set<String>> unscanned = lists.subList(scannedLists, lists.size());
+
+        // T-occurrence: Jaccard >= t needs at least t * |query| shared trigrams
+        int required = (int) Math.ceil(minSimilarity * queryGrams.size()) - unscanned.size();
+        List<Map.Entry<String, Integer>> candidates = overlap.entrySet().stream()
+                .filter(entry -> entry.getValue() >= required)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxCandidates)
+                .toList();
+
+        Map<String, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : candidates) {
+            String bookId = candidate.getKey();
+            Set<String> docGrams = documents.get(bookId);
+            if (docGrams == null) {
+                continue;
+            }
+            int shared = candidate.getValue();
+            for (Set<String> docs : unscanned) {
+                if (docs.contains(bookId)) {
+                    shared++;
+                }
+            }
+            double similarity = (double) shared / (queryGrams.size() + docGrams.size() - shared);
+            if (similarity >= minSimilarity) {
+                scores.put(bookId, similarity);
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String token : SearchText.tokenize(text)) {
+            String padded = "  " + token + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private void removePosting(String gram, String bookId) {
+        postings.computeIfPresent(gram, (key, docs) -> {
+            docs.remove(bookId);
+            return docs.isEmpty() ? null : docs;
+        });
+    }
+}
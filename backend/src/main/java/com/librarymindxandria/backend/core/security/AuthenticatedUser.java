@@ -0,0 +1,39 @@
+package com.librarymindxandria.backend.core.security;
+
+import com.librarymindxandria.backend.models.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal kept in the security context. Carries the user id so services
+ * can reference the user without reading the {@code users} table.
+ */
+public record AuthenticatedUser(String id, String name, String email, String password) implements UserDetails {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getName(), user.getEmail(), user.getPassword());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", email=" + email + "]";
+    }
+}
@@ -0,0 +1,44 @@
+package com.librarymindxandria.backend.core.security;
+
+import com.librarymindxandria.backend.core.cache.BoundedExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticated principals by email, shared by the JWT filter and the
+ * services so a request resolves its user at most once.
+ */
+@Component
+public class PrincipalCache {
+
+    private final BoundedExpiringCache<String, AuthenticatedUser> principals;
+    private final long ttlMs;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.principals = new BoundedExpiringCache<>(maxSize);
+        this.ttlMs = ttlMs;
+    }
+
+    public AuthenticatedUser get(String email) {
+        return principals.get(email);
+    }
+
+    public void put(AuthenticatedUser user) {
+        principals.put(user.email(), user, System.currentTimeMillis() + ttlMs);
+    }
+
+    public void invalidate(String email) {
+        principals.invalidate(email);
+    }
+
+    public BoundedExpiringCache<String, AuthenticatedUser> getPrincipals() {
+        return principals;
+    }
+
+    @Scheduled(fixedDelayString = "${security.principal-cache.ttl-ms:300000}")
+    public void purgeExpired() {
+        principals.purgeExpired();
+    }
+}
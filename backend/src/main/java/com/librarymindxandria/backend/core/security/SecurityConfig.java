@@ -1,9 +1,13 @@
 package com.librarymindxandria.backend.core.security;
 
+import com.librarymindxandria.backend.core.security.password.BoundedPasswordEncoder;
+import com.librarymindxandria.backend.core.security.ratelimit.RateLimitFilter;
 import com.librarymindxandria.backend.core.security.token.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -13,8 +17,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import java.util.Arrays;
@@ -27,10 +29,24 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    private final RateLimitFilter rateLimitFilter;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+
+    /**
+     * BCrypt on its own bounded pool, with the cost calibrated to this host
+     * at startup. A pinned {@code security.password.cost} skips calibration.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.password.cost:0}") int cost,
+                                                 @Value("${security.password.target-ms:250}") long targetMillis,
+                                                 @Value("${security.password.min-cost:10}") int minCost,
+                                                 @Value("${security.password.max-cost:14}") int maxCost,
+                                                 @Value("${security.password.pool-size:0}") int poolSize,
+                                                 @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                                 @Value("${security.password.timeout-ms:5000}") long timeoutMillis) {
+        int effectiveCost = cost > 0 ? cost : BoundedPasswordEncoder.calibrateCost(targetMillis, minCost, maxCost);
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(effectiveCost, threads, queueCapacity, timeoutMillis);
     }
 
 
@@ -40,8 +56,15 @@ public class SecurityConfig {
     }
 
 
+    /**
+     * The Prometheus scrape is only open on {@code management.server.port},
+     * which is not published with the API; on the API port it needs a token.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${server.port:8080}") int serverPort,
+                                                   @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        boolean separateManagementPort = managementPort > 0 && managementPort != serverPort;
         http
         .csrf(csrf -> csrf.disable())
         .cors(cors -> {})
@@ -49,13 +72,21 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/books/all").permitAll()
+                        .requestMatchers("/books/scroll").permitAll()
                         .requestMatchers("/books/stats").permitAll()
+                        .requestMatchers("/books/export").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/books/*").permitAll()
                         .requestMatchers("/files/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(request -> separateManagementPort
+                                && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         .anyRequest().authenticated()
                 );
 
 
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
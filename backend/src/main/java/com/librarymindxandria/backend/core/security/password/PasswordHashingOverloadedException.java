@@ -0,0 +1,23 @@
+package com.librarymindxandria.backend.core.security.password;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The password hashing pool is saturated; answered with 503 and a short
+ * Retry-After instead of holding the request thread.
+ */
+public class PasswordHashingOverloadedException extends ResponseStatusException {
+
+    public PasswordHashingOverloadedException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Servidor ocupado. Tente novamente em instantes.");
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
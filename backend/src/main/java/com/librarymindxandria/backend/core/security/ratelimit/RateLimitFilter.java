@@ -0,0 +1,107 @@
+package com.librarymindxandria.backend.core.security.ratelimit;
+
+import com.librarymindxandria.backend.core.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Per-client limits for the public endpoints that cost the most: password
+ * hashing under {@code /auth} and text searches over the catalog. Runs after
+ * the JWT filter, so authenticated searches are keyed by user and everything
+ * else by remote address.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter authLimiter;
+    private final TokenBucketLimiter searchLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(@Value("${ratelimit.enabled:true}") boolean enabled,
+                           @Value("${ratelimit.max-keys:100000}") int maxKeys,
+                           @Value("${ratelimit.auth.capacity:10}") int authCapacity,
+                           @Value("${ratelimit.auth.refill-tokens:5}") int authRefillTokens,
+                           @Value("${ratelimit.auth.refill-period-ms:60000}") long authRefillPeriod,
+                           @Value("${ratelimit.search.capacity:30}") int searchCapacity,
+                           @Value("${ratelimit.search.refill-tokens:10}") int searchRefillTokens,
+                           @Value("${ratelimit.search.refill-period-ms:1000}") long searchRefillPeriod,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.authLimiter = new TokenBucketLimiter("auth", authCapacity, authRefillTokens, authRefillPeriod, maxKeys);
+        this.searchLimiter = new TokenBucketLimiter("search", searchCapacity, searchRefillTokens, searchRefillPeriod, maxKeys);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || limiterFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        TokenBucketLimiter limiter = limiterFor(request);
+        long retryAfterMillis = limiter.tryAcquire(clientKey(request));
+        if (retryAfterMillis == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("library.ratelimit.rejected", "rule", limiter.getName()).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Muitas requisições. Tente novamente em instantes.");
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        authLimiter.evictIdle();
+        searchLimiter.evictIdle();
+    }
+
+    public List<TokenBucketLimiter> getLimiters() {
+        return List.of(authLimiter, searchLimiter);
+    }
+
+    private TokenBucketLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getServletPath();
+        String method = request.getMethod();
+        if ("POST".equals(method) && (path.equals("/auth/login") || path.equals("/auth/register"))) {
+            return authLimiter;
+        }
+        if ("GET".equals(method) && (path.equals("/books/all") || path.equals("/books/scroll"))
+                && StringUtils.hasText(request.getParameter("search"))) {
+            return searchLimiter;
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.id();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
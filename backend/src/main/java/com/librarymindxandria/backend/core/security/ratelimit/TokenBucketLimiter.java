@@ -0,0 +1,101 @@
+package com.librarymindxandria.backend.core.security.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per key, each stored as a single {@link AtomicLong} holding
+ * the instant at which the bucket is full again (GCRA). Taking a token is one
+ * compare-and-set, with no lock and no refill thread.
+ *
+ * <p>A key whose bucket is full behaves exactly like an absent key, so those
+ * entries are dropped by {@link #evictIdle()}; when the map still reaches
+ * {@code maxKeys}, arbitrary entries are evicted to keep memory bounded.
+ */
+public class TokenBucketLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String name;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param capacity tokens available to a key that has been idle
+     * @param refillTokens tokens added back every {@code refillPeriodMillis}
+     */
+    public TokenBucketLimiter(String name, int capacity, int refillTokens, long refillPeriodMillis, int maxKeys) {
+        if (capacity < 1 || refillTokens < 1 || refillPeriodMillis < 1) {
+            throw new IllegalArgumentException("Limite inválido para " + name);
+        }
+        this.name = name;
+        this.emissionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refillPeriodMillis) / refillTokens;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 when it was granted, otherwise
+     * how many milliseconds until the next token is available.
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                makeRoom();
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+        }
+
+        while (true) {
+            long now = System.nanoTime();
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt - now, 0) + emissionIntervalNanos;
+            if (next > burstNanos) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(next - burstNanos));
+            }
+            if (bucket.compareAndSet(fullAt, now + next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that have refilled completely. A request racing with the
+     * removal may spend a token on the dropped bucket, which only ever errs on
+     * the side of letting it through.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        lastSweepNanos.set(now);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void makeRoom() {
+        long last = lastSweepNanos.get();
+        long now = System.nanoTime();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweepNanos.compareAndSet(last, now)) {
+            evictIdle();
+        }
+        Iterator<String> keys = buckets.keySet().iterator();
+        while (buckets.size() >= maxKeys && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.librarymindxandria.backend.core.security.token;
 
 import com.librarymindxandria.backend.core.config.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +26,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final CustomUserDetailsService customUserDetailsService;
 
+    private final MeterRegistry meterRegistry;
+
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,9 +36,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String userEmail = tokenProvider.getUsernameFromJWT(jwt);
+            String userEmail = StringUtils.hasText(jwt) ? verify(jwt) : null;
 
+            if (userEmail != null) {
                 UserDetails userDetails = customUserDetailsService.loadUserByUsername(userEmail);
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -52,6 +56,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
 
+    private String verify(String jwt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String userEmail = tokenProvider.resolveUsername(jwt);
+        sample.stop(meterRegistry.timer("library.jwt.verification", "result", userEmail != null ? "valid" : "invalid"));
+        return userEmail;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
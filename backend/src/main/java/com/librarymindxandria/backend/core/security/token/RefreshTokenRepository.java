@@ -1,14 +1,24 @@
 package com.librarymindxandria.backend.core.security.token;
 
 import com.librarymindxandria.backend.core.BaseRepository;
-import com.librarymindxandria.backend.models.User;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RefreshTokenRepository extends BaseRepository<RefreshToken, String> {
-    Optional<RefreshToken> findByToken(String token);
-    void deleteByUser(User user);
-    Optional<RefreshToken> findByUser(User user);
+
+    String ROW_SELECT = "SELECT r.token AS token, r.user.id AS userId, r.user.email AS email, r.expiryDate AS expiryDate " +
+            "FROM RefreshToken r ";
+
+    @Query(ROW_SELECT + "WHERE r.token IN :tokens")
+    Optional<RefreshTokenRowDTO> findRowByTokenIn(@Param("tokens") Collection<String> tokens);
+
+    @Query(ROW_SELECT + "WHERE r.expiryDate > :now")
+    Stream<RefreshTokenRowDTO> streamActive(@Param("now") Instant now);
 }
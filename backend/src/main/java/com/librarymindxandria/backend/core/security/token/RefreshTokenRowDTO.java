@@ -0,0 +1,10 @@
+package com.librarymindxandria.backend.core.security.token;
+
+import java.time.Instant;
+
+public interface RefreshTokenRowDTO {
+    String getToken();
+    String getUserId();
+    String getEmail();
+    Instant getExpiryDate();
+}
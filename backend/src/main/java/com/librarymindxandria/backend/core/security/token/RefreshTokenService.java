@@ -1,52 +1,281 @@
 package com.librarymindxandria.backend.core.security.token;
 
-import com.librarymindxandria.backend.models.User;
-import com.librarymindxandria.backend.repositories.UserRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+/**
+ * Refresh tokens are kept in memory, keyed by the SHA-256 of the token, and
+ * only the digest is persisted. Issuing a token queues a write that a
+ * scheduled flush batches into {@code refresh_tokens}, so login and refresh
+ * need no reads and share one batched write. Tokens are single use: presenting
+ * one consumes it.
+ */
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenService {
 
-    @Value("${jwt.refresh-token.expiration-ms}")
-    private Long refreshTokenDurationMs;
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final String UPDATE_TOKEN =
+            "UPDATE refresh_tokens SET token = ?, expiry_date = ?, updated_at = ? WHERE user_id = ?";
+    private static final String INSERT_TOKEN =
+            "INSERT INTO refresh_tokens (id, token, expiry_date, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM refresh_tokens WHERE id IN (SELECT id FROM refresh_tokens WHERE expiry_date < ? LIMIT ?)";
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long refreshTokenDurationMs;
+    private final int purgeBatchSize;
+
+    private final Map<String, TokenOwner> tokensByDigest = new ConcurrentHashMap<>();
+    private final Map<String, String> digestByUser = new ConcurrentHashMap<>();
+    private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final Set<String> consumedBeforeReady = ConcurrentHashMap.newKeySet();
 
-    private final UserRepository userRepository;
+    private volatile boolean ready = false;
 
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${jwt.refresh-token.expiration-ms}") long refreshTokenDurationMs,
+                               @Value("${jwt.refresh-token.purge-batch-size:1000}") int purgeBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshTokenDurationMs = refreshTokenDurationMs;
+        this.purgeBatchSize = purgeBatchSize;
     }
 
-    @Transactional
-    public RefreshToken createRefreshToken(String userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+    public record TokenOwner(String userId, String email, Instant expiresAt) {
+    }
 
-        RefreshToken refreshToken = refreshTokenRepository.findByUser(user)
-                .orElse(new RefreshToken());
+    private record PendingWrite(String digest, Instant expiresAt) {
+    }
 
-        refreshToken.setUser(user);
-        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenDurationMs));
-        refreshToken.setToken(UUID.randomUUID().toString());
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<RefreshTokenRowDTO> rows = refreshTokenRepository.streamActive(Instant.now())) {
+            rows.forEach(row -> {
+                // Rows written before digests were stored still hold the raw token
+                String digest = isDigest(row.getToken()) ? row.getToken() : digest(row.getToken());
+                registerIfAbsent(row.getUserId(), digest, new TokenOwner(row.getUserId(), row.getEmail(), row.getExpiryDate()));
+            });
+        }
+        ready = true;
+        consumedBeforeReady.clear();
+        logger.info("Refresh tokens carregados: {}", tokensByDigest.size());
+    }
 
+    /**
+     * Issues a new token for the user, replacing the previous one.
+     */
+    public String issue(String userId, String email) {
+        String token = UUID.randomUUID().toString();
+        String digest = digest(token);
+        Instant expiresAt = Instant.now().plusMillis(refreshTokenDurationMs);
 
-        return refreshTokenRepository.save(refreshToken);
+        register(userId, digest, new TokenOwner(userId, email, expiresAt));
+        pendingWrites.put(userId, new PendingWrite(digest, expiresAt));
+        return token;
     }
 
-    @Transactional
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
+    /**
+     * Returns the owner of the token and invalidates it. Only the first of
+     * concurrent calls with the same token succeeds.
+     */
+    public TokenOwner consume(String token) {
+        if (token == null || token.isBlank()) {
+            throw new RuntimeException("Refresh token não encontrado no banco de dados!");
+        }
+        String digest = digest(token);
+        TokenOwner owner = tokensByDigest.remove(digest);
+        if (owner == null && !ready) {
+            // Only until the startup load finishes; afterwards every live token is in memory
+            owner = refreshTokenRepository.findRowByTokenIn(List.of(digest, token))
+                    .map(row -> new TokenOwner(row.getUserId(), row.getEmail(), row.getExpiryDate()))
+                    .filter(candidate -> claimBeforeReady(candidate.userId(), digest))
+                    .orElse(null);
+        }
+        if (owner == null) {
+            throw new RuntimeException("Refresh token não encontrado no banco de dados!");
+        }
+        digestByUser.remove(owner.userId(), digest);
+
+        if (owner.expiresAt().isBefore(Instant.now())) {
             throw new RuntimeException("Refresh token expirado. Por favor, faça login novamente.");
         }
-        return token;
+        return owner;
+    }
+
+    /**
+     * Forgets the user's token and any write still queued for it, e.g. when the
+     * user is deleted and its row goes with it.
+     */
+    public void revokeUser(String userId) {
+        pendingWrites.remove(userId);
+        String digest = digestByUser.remove(userId);
+        if (digest != null) {
+            tokensByDigest.remove(digest);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.flush-interval-ms:1000}")
+    public void flush() {
+        List<String> userIds = new ArrayList<>();
+        List<PendingWrite> writes = new ArrayList<>();
+        for (String userId : Set.copyOf(pendingWrites.keySet())) {
+            PendingWrite write = pendingWrites.remove(userId);
+            if (write != null) {
+                userIds.add(userId);
+                writes.add(write);
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(userIds, writes);
+        } catch (DataAccessException ex) {
+            logger.warn("Falha ao gravar {} refresh tokens em lote; gravando um a um", userIds.size(), ex);
+            for (int i = 0; i < userIds.size(); i++) {
+                try {
+                    write(List.of(userIds.get(i)), List.of(writes.get(i)));
+                } catch (DataAccessException single) {
+                    logger.error("Não foi possível gravar o refresh token do usuário {}", userIds.get(i), single);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(initialDelayString = "${jwt.refresh-token.purge-interval-ms:3600000}",
+            fixedDelayString = "${jwt.refresh-token.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        tokensByDigest.forEach((digest, owner) -> {
+            if (owner.expiresAt().isBefore(now)) {
+                tokensByDigest.remove(digest, owner);
+                digestByUser.remove(owner.userId(), digest);
+            }
+        });
+
+        Timestamp cutoff = Timestamp.from(now);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED, cutoff, purgeBatchSize);
+            purged += deleted;
+        } while (deleted >= purgeBatchSize);
+
+        if (purged > 0) {
+            logger.info("Refresh tokens expirados removidos: {}", purged);
+        }
+    }
+
+    private void register(String userId, String digest, TokenOwner owner) {
+        digestByUser.compute(userId, (key, previous) -> {
+            if (previous != null && !previous.equals(digest)) {
+                tokensByDigest.remove(previous);
+            }
+            tokensByDigest.put(digest, owner);
+            return digest;
+        });
+    }
+
+    /**
+     * Startup load: keeps a token issued while the load was running and skips
+     * one already consumed through the database fallback.
+     */
+    private void registerIfAbsent(String userId, String digest, TokenOwner owner) {
+        digestByUser.compute(userId, (key, current) -> {
+            if (current != null || consumedBeforeReady.contains(digest)) {
+                return current;
+            }
+            tokensByDigest.put(digest, owner);
+            return digest;
+        });
+    }
+
+    /**
+     * Marks a token read from the database before the load finished as
+     * consumed. Runs under the user's entry, so the load cannot register it
+     * afterwards and a replay finds it already claimed.
+     */
+    private boolean claimBeforeReady(String userId, String digest) {
+        boolean[] claimed = {false};
+        digestByUser.compute(userId, (key, current) -> {
+            if (current != null && !current.equals(digest)) {
+                // Replaced by a login or refresh served in the meantime
+                return current;
+            }
+            claimed[0] = consumedBeforeReady.add(digest);
+            if (current != null) {
+                tokensByDigest.remove(digest);
+            }
+            return null;
+        });
+        return claimed[0];
+    }
+
+    private void write(List<String> userIds, List<PendingWrite> writes) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> updates = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            PendingWrite write = writes.get(i);
+            updates.add(new Object[]{write.digest(), Timestamp.from(write.expiresAt()), now, userIds.get(i)});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_TOKEN, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                PendingWrite write = writes.get(i);
+                inserts.add(new Object[]{UUID.randomUUID().toString(), write.digest(),
+                        Timestamp.from(write.expiresAt()), userIds.get(i), now, now});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TOKEN, inserts);
+        }
+    }
+
+    private static boolean isDigest(String token) {
+        return token.length() == 64 && token.chars().allMatch(c -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
     }
-}
\ No newline at end of file
+}
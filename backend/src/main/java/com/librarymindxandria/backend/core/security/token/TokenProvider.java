@@ -5,13 +5,20 @@ import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.librarymindxandria.backend.core.cache.BoundedExpiringCache;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Component
 public class TokenProvider {
@@ -24,14 +31,26 @@ public class TokenProvider {
     @Value("${jwt.expiration-ms}")
     private long jwtExpirationMs;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+    private BoundedExpiringCache<String, String> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        this.algorithm = Algorithm.HMAC512(jwtSecret);
+        this.verifier = JWT.require(algorithm).build();
+        this.verifiedTokens = new BoundedExpiringCache<>(verifiedCacheMaxSize);
+    }
+
     public String generateAccessToken(Authentication authentication) {
         String username = authentication.getName();
 
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        Algorithm algorithm = Algorithm.HMAC512(jwtSecret);
-
         return JWT.create()
                 .withSubject(username)
                 .withIssuedAt(now)
@@ -40,9 +59,6 @@ public class TokenProvider {
     }
 
     public String getUsernameFromJWT(String token) {
-        Algorithm algorithm = Algorithm.HMAC512(jwtSecret);
-        JWTVerifier verifier = JWT.require(algorithm).build();
-
         DecodedJWT decodedJWT = verifier.verify(token);
         return decodedJWT.getSubject();
     }
@@ -50,9 +66,6 @@ public class TokenProvider {
 
     public boolean validateToken(String authToken) {
         try {
-            Algorithm algorithm = Algorithm.HMAC512(jwtSecret);
-            JWTVerifier verifier = JWT.require(algorithm).build();
-
             verifier.verify(authToken);
             return true;
         } catch (JWTVerificationException exception) {
@@ -60,4 +73,51 @@ public class TokenProvider {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies the token and returns its subject, or {@code null} when it is
+     * invalid. Tokens already verified are remembered by digest until they
+     * expire, so an active session pays for the HMAC only once.
+     */
+    public String resolveUsername(String token) {
+        String digest = digest(token);
+        String cachedUsername = verifiedTokens.get(digest);
+        if (cachedUsername != null) {
+            return cachedUsername;
+        }
+
+        try {
+            DecodedJWT decodedJWT = verifier.verify(token);
+            String username = decodedJWT.getSubject();
+            Date expiresAt = decodedJWT.getExpiresAt();
+            if (username != null && expiresAt != null) {
+                verifiedTokens.put(digest, username, expiresAt.getTime());
+            }
+            return username;
+        } catch (JWTVerificationException exception) {
+            logger.error("Validação do Token JWT falhou: {}", exception.getMessage());
+            return null;
+        }
+    }
+
+    public BoundedExpiringCache<String, String> getVerifiedTokens() {
+        return verifiedTokens;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.verified-cache.report-interval-ms:300000}")
+    public void purgeVerifiedTokens() {
+        verifiedTokens.purgeExpired();
+        logger.info("Cache de tokens JWT: {} entradas, taxa de acerto {}, {} acertos, {} falhas, {} remoções",
+                verifiedTokens.size(), String.format("%.2f", verifiedTokens.hitRate()),
+                verifiedTokens.hitCount(), verifiedTokens.missCount(), verifiedTokens.evictionCount());
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+}
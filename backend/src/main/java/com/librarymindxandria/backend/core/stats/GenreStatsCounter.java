@@ -0,0 +1,113 @@
+package com.librarymindxandria.backend.core.stats;
+
+import com.librarymindxandria.backend.core.cache.CatalogVersion;
+import com.librarymindxandria.backend.dtos.genre.GenreStatDTO;
+import com.librarymindxandria.backend.enums.GenreType;
+import com.librarymindxandria.backend.repositories.BookRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-genre book counters kept in memory so {@code /books/stats} does not
+ * run a GROUP BY per call. Seeded at startup and periodically reconciled
+ * against the database to correct any drift.
+ */
+@Component
+public class GenreStatsCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenreStatsCounter.class);
+
+    private final BookRepository bookRepository;
+    private final CatalogVersion catalogVersion;
+    private final Map<GenreType, LongAdder> counters = new EnumMap<>(GenreType.class);
+
+    private volatile boolean ready = false;
+
+    public GenreStatsCounter(BookRepository bookRepository, CatalogVersion catalogVersion) {
+        this.bookRepository = bookRepository;
+        this.catalogVersion = catalogVersion;
+        for (GenreType genre : GenreType.values()) {
+            counters.put(genre, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+        ready = true;
+    }
+
+    @Scheduled(initialDelayString = "${stats.genre.reconcile-interval-ms:600000}",
+            fixedDelayString = "${stats.genre.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        // Read before the query: increments landing while it runs are kept instead of counted as drift
+        Map<GenreType, Long> before = new EnumMap<>(GenreType.class);
+        counters.forEach((genre, counter) -> before.put(genre, counter.sum()));
+
+        Map<GenreType, Long> actual = new EnumMap<>(GenreType.class);
+        for (GenreStatDTO stat : bookRepository.countBooksByGenre()) {
+            actual.put(stat.getGenre(), stat.getCount());
+        }
+
+        boolean corrected = false;
+        for (Map.Entry<GenreType, LongAdder> entry : counters.entrySet()) {
+            long drift = actual.getOrDefault(entry.getKey(), 0L) - before.get(entry.getKey());
+            if (drift != 0) {
+                entry.getValue().add(drift);
+                corrected = true;
+                if (ready) {
+                    logger.warn("Contador do gênero {} corrigido em {}", entry.getKey(), drift);
+                }
+            }
+        }
+        // Tags for /books/stats were issued over the wrong counts
+        if (corrected && ready) {
+            catalogVersion.bump();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void increment(Collection<GenreType> genres) {
+        genres.forEach(genre -> counters.get(genre).increment());
+    }
+
+    public void decrement(Collection<GenreType> genres) {
+        genres.forEach(genre -> counters.get(genre).decrement());
+    }
+
+    public List<GenreStatDTO> snapshot() {
+        List<GenreStatDTO> stats = new ArrayList<>();
+        counters.forEach((genre, counter) -> {
+            long count = counter.sum();
+            if (count > 0) {
+                stats.add(new GenreStat(genre, count));
+            }
+        });
+        stats.sort(Comparator.comparing(GenreStatDTO::getCount).reversed());
+        return stats;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class GenreStat implements GenreStatDTO {
+        private final GenreType genre;
+        private final Long count;
+    }
+}
@@ -0,0 +1,173 @@
+package com.librarymindxandria.backend.core.web;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymindxandria.backend.dtos.book.BookRowDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowPageDTO;
+import com.librarymindxandria.backend.enums.GenreType;
+import com.librarymindxandria.backend.services.FileStorageService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a catalog page from projected rows straight to the output stream,
+ * with the same JSON shape Jackson produces for {@code Page<BookResponseDTO>}.
+ * Field names are encoded once, and the file base URL is resolved once per
+ * page instead of once per cover.
+ */
+@Component
+public class BookPageWriter {
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString SHORT_DESCRIPTION = new SerializedString("shortDescription");
+    private static final SerializedString LONG_DESCRIPTION = new SerializedString("longDescription");
+    private static final SerializedString GENRE_TYPE = new SerializedString("genreType");
+    private static final SerializedString COVER_IMAGE_URL = new SerializedString("coverImageUrl");
+
+    private static final SerializedString PAGEABLE = new SerializedString("pageable");
+    private static final SerializedString PAGE_NUMBER = new SerializedString("pageNumber");
+    private static final SerializedString PAGE_SIZE = new SerializedString("pageSize");
+    private static final SerializedString OFFSET = new SerializedString("offset");
+    private static final SerializedString PAGED = new SerializedString("paged");
+    private static final SerializedString UNPAGED = new SerializedString("unpaged");
+    private static final SerializedString SORT = new SerializedString("sort");
+    private static final SerializedString EMPTY = new SerializedString("empty");
+    private static final SerializedString SORTED = new SerializedString("sorted");
+    private static final SerializedString UNSORTED = new SerializedString("unsorted");
+    private static final SerializedString LAST = new SerializedString("last");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString NUMBER = new SerializedString("number");
+    private static final SerializedString FIRST = new SerializedString("first");
+    private static final SerializedString NUMBER_OF_ELEMENTS = new SerializedString("numberOfElements");
+
+    private static final SerializedString[] GENRE_NAMES = genreNames();
+
+    private final JsonFactory jsonFactory;
+    private final FileStorageService fileStorageService;
+
+    public BookPageWriter(ObjectMapper objectMapper, FileStorageService fileStorageService) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.fileStorageService = fileStorageService;
+    }
+
+    public void write(BookRowPageDTO page, OutputStream out) throws IOException {
+        write(page, fileStorageService.fileBaseUri(), out);
+    }
+
+    public void write(BookRowPageDTO page, String fileBaseUri, OutputStream out) throws IOException {
+        Page<BookRowDTO> rows = page.getRows();
+        Map<String, List<GenreType>> genresByBook = page.getGenresByBook();
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+
+            generator.writeFieldName(CONTENT);
+            generator.writeStartArray();
+            for (BookRowDTO row : rows.getContent()) {
+                writeBook(generator, row, genresByBook.getOrDefault(row.getId(), List.of()), fileBaseUri);
+            }
+            generator.writeEndArray();
+
+            writePageable(generator, rows.getPageable());
+            generator.writeFieldName(LAST);
+            generator.writeBoolean(rows.isLast());
+            generator.writeFieldName(TOTAL_ELEMENTS);
+            generator.writeNumber(rows.getTotalElements());
+            generator.writeFieldName(TOTAL_PAGES);
+            generator.writeNumber(rows.getTotalPages());
+            generator.writeFieldName(SIZE);
+            generator.writeNumber(rows.getSize());
+            generator.writeFieldName(NUMBER);
+            generator.writeNumber(rows.getNumber());
+            writeSort(generator, rows.getSort());
+            generator.writeFieldName(FIRST);
+            generator.writeBoolean(rows.isFirst());
+            generator.writeFieldName(NUMBER_OF_ELEMENTS);
+            generator.writeNumber(rows.getNumberOfElements());
+            generator.writeFieldName(EMPTY);
+            generator.writeBoolean(rows.isEmpty());
+
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeBook(JsonGenerator generator, BookRowDTO row, List<GenreType> genres,
+                                  String fileBaseUri) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeString(row.getId());
+        generator.writeFieldName(NAME);
+        generator.writeString(row.getName());
+        generator.writeFieldName(SHORT_DESCRIPTION);
+        generator.writeString(row.getShortDescription());
+        if (row.getLongDescription() != null) {
+            generator.writeFieldName(LONG_DESCRIPTION);
+            generator.writeString(row.getLongDescription());
+        }
+        generator.writeFieldName(GENRE_TYPE);
+        generator.writeStartArray();
+        for (GenreType genre : genres) {
+            generator.writeString(GENRE_NAMES[genre.ordinal()]);
+        }
+        generator.writeEndArray();
+        generator.writeFieldName(COVER_IMAGE_URL);
+        generator.writeString(FileStorageService.buildFileUri(fileBaseUri, row.getCoverImageName()));
+        generator.writeEndObject();
+    }
+
+    private static void writePageable(JsonGenerator generator, Pageable pageable) throws IOException {
+        generator.writeFieldName(PAGEABLE);
+        if (pageable.isUnpaged()) {
+            generator.writeString("INSTANCE");
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(PAGE_NUMBER);
+        generator.writeNumber(pageable.getPageNumber());
+        generator.writeFieldName(PAGE_SIZE);
+        generator.writeNumber(pageable.getPageSize());
+        writeSort(generator, pageable.getSort());
+        generator.writeFieldName(OFFSET);
+        generator.writeNumber(pageable.getOffset());
+        generator.writeFieldName(PAGED);
+        generator.writeBoolean(true);
+        generator.writeFieldName(UNPAGED);
+        generator.writeBoolean(false);
+        generator.writeEndObject();
+    }
+
+    private static void writeSort(JsonGenerator generator, Sort sort) throws IOException {
+        generator.writeFieldName(SORT);
+        generator.writeStartObject();
+        generator.writeFieldName(EMPTY);
+        generator.writeBoolean(sort.isEmpty());
+        generator.writeFieldName(SORTED);
+        generator.writeBoolean(sort.isSorted());
+        generator.writeFieldName(UNSORTED);
+        generator.writeBoolean(sort.isUnsorted());
+        generator.writeEndObject();
+    }
+
+    private static SerializedString[] genreNames() {
+        GenreType[] genres = GenreType.values();
+        SerializedString[] names = new SerializedString[genres.length];
+        for (GenreType genre : genres) {
+            names[genre.ordinal()] = new SerializedString(genre.name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,15 @@
+package com.librarymindxandria.backend.dtos.book;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class BookCursorPageDTO {
+    private List<BookResponseDTO> content;
+    private String nextCursor;
+}
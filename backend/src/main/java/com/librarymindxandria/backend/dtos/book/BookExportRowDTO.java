@@ -0,0 +1,18 @@
+package com.librarymindxandria.backend.dtos.book;
+
+import com.librarymindxandria.backend.enums.GenreType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per (book, genre) pair; books without genres appear once with a {@code null} genre.
+ */
+public interface BookExportRowDTO {
+    String getId();
+    String getName();
+    String getShortDescription();
+    String getLongDescription();
+    String getCoverImageName();
+    LocalDateTime getCreatedAt();
+    GenreType getGenre();
+}
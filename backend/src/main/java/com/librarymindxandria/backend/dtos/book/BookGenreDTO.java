@@ -0,0 +1,8 @@
+package com.librarymindxandria.backend.dtos.book;
+
+import com.librarymindxandria.backend.enums.GenreType;
+
+public interface BookGenreDTO {
+    String getBookId();
+    GenreType getGenre();
+}
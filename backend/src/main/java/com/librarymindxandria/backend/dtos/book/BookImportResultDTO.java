@@ -0,0 +1,25 @@
+package com.librarymindxandria.backend.dtos.book;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookImportResultDTO {
+    private long line;
+    private String status;
+    private String id;
+    private List<String> errors;
+
+    public static BookImportResultDTO created(long line, String id) {
+        return new BookImportResultDTO(line, "CREATED", id, null);
+    }
+
+    public static BookImportResultDTO rejected(long line, List<String> errors) {
+        return new BookImportResultDTO(line, "REJECTED", null, errors);
+    }
+}
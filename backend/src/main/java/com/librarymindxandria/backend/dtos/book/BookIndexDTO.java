@@ -0,0 +1,10 @@
+package com.librarymindxandria.backend.dtos.book;
+
+import java.time.LocalDateTime;
+
+public interface BookIndexDTO {
+    String getId();
+    String getName();
+    String getShortDescription();
+    LocalDateTime getCreatedAt();
+}
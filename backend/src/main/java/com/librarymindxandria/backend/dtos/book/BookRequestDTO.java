@@ -2,6 +2,7 @@ package com.librarymindxandria.backend.dtos.book;
 
 import com.librarymindxandria.backend.enums.GenreType;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -11,9 +12,12 @@ import java.util.List;
 @Setter
 public class BookRequestDTO {
     @NotBlank
+    @Size(max = 255)
     private String name;
     @NotBlank
+    @Size(max = 500)
     private String shortDescription;
+    @Size(max = 3000)
     private String longDescription;
     private List<GenreType> genreType;
 }
@@ -1,5 +1,6 @@
 package com.librarymindxandria.backend.dtos.book;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.librarymindxandria.backend.enums.GenreType;
 import lombok.Getter;
 import lombok.Setter;
@@ -12,6 +13,7 @@ public class BookResponseDTO {
     private String id;
     private String name;
     private String shortDescription;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String longDescription;
     private List<GenreType> genreType;
     private String coverImageUrl;
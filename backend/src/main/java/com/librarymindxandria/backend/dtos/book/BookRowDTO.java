@@ -0,0 +1,12 @@
+package com.librarymindxandria.backend.dtos.book;
+
+import java.time.LocalDateTime;
+
+public interface BookRowDTO {
+    String getId();
+    String getName();
+    String getShortDescription();
+    String getLongDescription();
+    String getCoverImageName();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,20 @@
+package com.librarymindxandria.backend.dtos.book;
+
+import com.librarymindxandria.backend.enums.GenreType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A catalog page as projected rows plus their genres, written straight to
+ * the response by {@code BookPageWriter} without building DTOs.
+ */
+@Getter
+@AllArgsConstructor
+public class BookRowPageDTO {
+    private Page<BookRowDTO> rows;
+    private Map<String, List<GenreType>> genresByBook;
+}
@@ -2,8 +2,11 @@ package com.librarymindxandria.backend.dtos.upload;
 
 import org.springframework.core.io.Resource;
 
+import java.nio.file.Path;
+
 public record LoadedFile(
         Resource resource,
-        String contentType
+        String contentType,
+        Path path
 ) {
 }
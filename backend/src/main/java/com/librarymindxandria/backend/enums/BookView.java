@@ -0,0 +1,25 @@
+package com.librarymindxandria.backend.enums;
+
+public enum BookView {
+    SUMMARY,
+    FULL;
+
+    public boolean includesLongDescription() {
+        return this == FULL;
+    }
+
+    /**
+     * Returns {@link #FULL} for blank or unknown views.
+     */
+    public static BookView fromParam(String view) {
+        if (view == null || view.isBlank()) {
+            return FULL;
+        }
+        for (BookView candidate : values()) {
+            if (candidate.name().equalsIgnoreCase(view.trim())) {
+                return candidate;
+            }
+        }
+        return FULL;
+    }
+}
@@ -0,0 +1,37 @@
+package com.librarymindxandria.backend.enums;
+
+import java.util.Locale;
+
+public enum CoverSize {
+    THUMB(200),
+    MEDIUM(600);
+
+    private final int maxWidth;
+
+    CoverSize(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public String variantName(String filename) {
+        return name().toLowerCase(Locale.ROOT) + "_" + filename;
+    }
+
+    /**
+     * Returns {@code null} (the original file) for blank or unknown sizes.
+     */
+    public static CoverSize fromParam(String size) {
+        if (size == null || size.isBlank()) {
+            return null;
+        }
+        for (CoverSize candidate : values()) {
+            if (candidate.name().equalsIgnoreCase(size.trim())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
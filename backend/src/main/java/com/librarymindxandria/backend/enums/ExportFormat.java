@@ -0,0 +1,37 @@
+package com.librarymindxandria.backend.enums;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Returns {@link #NDJSON} for blank values and {@code null} for unknown formats.
+     */
+    public static ExportFormat fromParam(String format) {
+        if (format == null || format.isBlank()) {
+            return NDJSON;
+        }
+        for (ExportFormat candidate : values()) {
+            if (candidate.name().equalsIgnoreCase(format.trim())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
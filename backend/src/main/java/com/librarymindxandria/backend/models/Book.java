@@ -1,15 +1,19 @@
 package com.librarymindxandria.backend.models;
 
 import com.librarymindxandria.backend.core.Auditable;
+import com.librarymindxandria.backend.core.cache.CacheRegions;
 import com.librarymindxandria.backend.enums.GenreType;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = @Index(name = "idx_books_created_at_id", columnList = "created_at, id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BOOKS)
 @Getter
 @Setter
 public class Book extends Auditable {
@@ -22,10 +26,11 @@ public class Book extends Auditable {
     @Column(name = "long_description", length = 3000)
     private String longDescription;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BOOK_GENRES)
     @ElementCollection(targetClass = GenreType.class)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "book_genre_types", joinColumns = @JoinColumn(name = "book_id"))
@@ -0,0 +1,22 @@
+package com.librarymindxandria.backend.models;
+
+import com.librarymindxandria.backend.core.Auditable;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "file_blobs")
+@Getter
+@Setter
+public class FileBlob extends Auditable {
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+}
@@ -1,16 +1,20 @@
 package com.librarymindxandria.backend.models;
 
 import com.librarymindxandria.backend.core.Auditable;
+import com.librarymindxandria.backend.core.cache.CacheRegions;
 import com.librarymindxandria.backend.core.security.token.RefreshToken;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
 @Getter
 @Setter
 public class User extends Auditable {
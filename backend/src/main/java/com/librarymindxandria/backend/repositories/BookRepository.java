@@ -1,31 +1,105 @@
 package com.librarymindxandria.backend.repositories;
 
 import com.librarymindxandria.backend.core.BaseRepository;
+import com.librarymindxandria.backend.core.cache.CacheRegions;
+import com.librarymindxandria.backend.dtos.book.BookExportRowDTO;
+import com.librarymindxandria.backend.dtos.book.BookGenreDTO;
+import com.librarymindxandria.backend.dtos.book.BookIndexDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowDTO;
 import com.librarymindxandria.backend.dtos.genre.GenreStatDTO;
 import com.librarymindxandria.backend.models.Book;
-import com.librarymindxandria.backend.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends BaseRepository<Book, String> {
 
-    List<Book> findByUser(User user);
+    /**
+     * Selects the listing columns; {@code longDescription} is only read from the table when {@code :full} is true.
+     */
+    String ROW_SELECT = "SELECT b.id AS id, b.name AS name, b.shortDescription AS shortDescription, " +
+            "CASE WHEN :full = true THEN b.longDescription ELSE NULL END AS longDescription, " +
+            "b.coverImageName AS coverImageName, b.createdAt AS createdAt " +
+            "FROM Book b ";
 
-    @Query("SELECT b FROM Book b WHERE " +
-            "LOWER(b.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(b.shortDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Book> searchBooks(@Param("searchTerm") String searchTerm, Pageable pageable);
+    String SEARCH_FILTER = "(LOWER(b.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(b.shortDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) ";
+
+    /**
+     * Written exactly as the predicate of the partial indexes on PostgreSQL
+     * (see {@code PartialIndexInitializer}) so the planner can use them.
+     */
+    String LIVE = "b.deletedAt IS NULL ";
+
+    String BEFORE_CURSOR = "(b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.BOOK_QUERIES)
+    })
+    @Query(value = ROW_SELECT + "WHERE " + LIVE, countQuery = "SELECT COUNT(b) FROM Book b WHERE " + LIVE)
+    Page<BookRowDTO> findAllRows(@Param("full") boolean full, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.BOOK_QUERIES)
+    })
+    @Query(value = ROW_SELECT + "WHERE " + LIVE + "AND " + SEARCH_FILTER,
+            countQuery = "SELECT COUNT(b) FROM Book b WHERE " + LIVE + "AND " + SEARCH_FILTER)
+    Page<BookRowDTO> searchBooks(@Param("searchTerm") String searchTerm, @Param("full") boolean full, Pageable pageable);
+
+    @Query(ROW_SELECT + "WHERE " + LIVE + "AND b.id IN :ids")
+    List<BookRowDTO> findRowsByIds(@Param("ids") Collection<String> ids, @Param("full") boolean full);
+
+    @Query(ROW_SELECT + "WHERE " + LIVE + "AND b.user.id = :userId")
+    List<BookRowDTO> findRowsByUserId(@Param("userId") String userId, @Param("full") boolean full);
+
+    @Query(ROW_SELECT + "WHERE " + LIVE + "AND " + BEFORE_CURSOR + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookRowDTO> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") String id,
+                                    @Param("full") boolean full,
+                                    Pageable pageable);
+
+    @Query(ROW_SELECT + "WHERE " + LIVE + "AND " + SEARCH_FILTER + "AND " + BEFORE_CURSOR + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookRowDTO> searchPageBefore(@Param("searchTerm") String searchTerm,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") String id,
+                                      @Param("full") boolean full,
+                                      Pageable pageable);
+
+    @Query("SELECT b.id AS bookId, g AS genre FROM Book b JOIN b.genreTypes g WHERE b.id IN :ids")
+    List<BookGenreDTO> findGenresByBookIds(@Param("ids") Collection<String> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id AS id, b.name AS name, b.shortDescription AS shortDescription, " +
+            "b.longDescription AS longDescription, b.coverImageName AS coverImageName, b.createdAt AS createdAt, " +
+            "g AS genre FROM Book b LEFT JOIN b.genreTypes g WHERE " + LIVE + "ORDER BY b.id")
+    Stream<BookExportRowDTO> streamAllForExport();
+
+    @Query("SELECT b.id AS id, b.name AS name, b.shortDescription AS shortDescription, b.createdAt AS createdAt " +
+            "FROM Book b WHERE " + LIVE)
+    Stream<BookIndexDTO> streamAllForIndex();
 
     @Query(value = """
-                SELECT genre_type AS genre, COUNT(book_id) AS count
-                FROM book_genre_types
-                GROUP BY genre_type
+                SELECT g.genre_type AS genre, COUNT(g.book_id) AS count
+                FROM book_genre_types g
+                JOIN books b ON b.id = g.book_id
+                WHERE b.deleted_at IS NULL
+                GROUP BY g.genre_type
                 ORDER BY count DESC
             """, nativeQuery = true)
     List<GenreStatDTO> countBooksByGenre();
@@ -0,0 +1,55 @@
+package com.librarymindxandria.backend.repositories;
+
+import com.librarymindxandria.backend.core.BaseRepository;
+import com.librarymindxandria.backend.models.FileBlob;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FileBlobRepository extends BaseRepository<FileBlob, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob f SET f.refCount = f.refCount + 1 WHERE f.name = :name")
+    int incrementRefCount(@Param("name") String name);
+
+    /**
+     * Creates the row with no references unless it already exists, without
+     * failing (and aborting the transaction) when a concurrent upload of the
+     * same content inserted it first. Only {@code file_blobs} is declared as
+     * affected, so the second-level cache is left alone.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "file_blobs"))
+    @Query(value = "INSERT INTO file_blobs (id, name, size, ref_count, created_at, updated_at) " +
+            "VALUES (:id, :name, :size, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("name") String name, @Param("size") long size);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob f SET f.refCount = f.refCount - 1 WHERE f.name = :name AND f.refCount > 0")
+    int decrementRefCount(@Param("name") String name);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FileBlob f WHERE f.name = :name AND f.refCount = 0")
+    int deleteIfUnreferenced(@Param("name") String name);
+
+    @Query("SELECT f.name FROM FileBlob f WHERE f.refCount = 0")
+    List<String> findUnreferencedNames(Pageable pageable);
+
+    @Query("SELECT f.name FROM FileBlob f WHERE f.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+}
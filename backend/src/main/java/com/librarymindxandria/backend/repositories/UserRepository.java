@@ -1,13 +1,21 @@
 package com.librarymindxandria.backend.repositories;
 
 import com.librarymindxandria.backend.core.BaseRepository;
+import com.librarymindxandria.backend.core.cache.CacheRegions;
 import com.librarymindxandria.backend.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends BaseRepository<User, String> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USER_QUERIES)
+    })
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
 }
@@ -1,6 +1,6 @@
 package com.librarymindxandria.backend.services;
 
-import com.librarymindxandria.backend.core.security.token.RefreshToken;
+import com.librarymindxandria.backend.core.security.AuthenticatedUser;
 import com.librarymindxandria.backend.core.security.token.RefreshTokenService;
 import com.librarymindxandria.backend.core.security.token.TokenProvider;
 import com.librarymindxandria.backend.dtos.auth.LoginRequestDTO;
@@ -9,6 +9,7 @@ import com.librarymindxandria.backend.dtos.auth.RegisterRequestDTO;
 import com.librarymindxandria.backend.dtos.token.TokenResponseDTO;
 import com.librarymindxandria.backend.models.User;
 import com.librarymindxandria.backend.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,12 +17,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 
 @Service
 @RequiredArgsConstructor
+@Timed("library.auth.service")
 public class AuthService {
 
     private final AuthenticationManager authenticationManager;
@@ -30,7 +31,10 @@ public class AuthService {
     private final TokenProvider tokenProvider;
     private final RefreshTokenService refreshTokenService;
 
-    @Transactional
+    /**
+     * Not transactional: hashing waits on the password pool and must not hold
+     * a pooled connection meanwhile.
+     */
     public void registerUser(RegisterRequestDTO signUpRequest) {
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
             throw new RuntimeException("Erro: Email já está em uso!");
@@ -44,7 +48,6 @@ public class AuthService {
         userRepository.save(user);
     }
 
-    @Transactional
     public TokenResponseDTO loginUser(LoginRequestDTO loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
@@ -53,28 +56,20 @@ public class AuthService {
 
         String accessToken = tokenProvider.generateAccessToken(authentication);
 
-        User user = userRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado após login"));
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getId());
+        String refreshToken = refreshTokenService.issue(user.id(), user.email());
 
-        return new TokenResponseDTO(accessToken, refreshToken.getToken());
+        return new TokenResponseDTO(accessToken, refreshToken);
     }
 
-    @Transactional
     public TokenResponseDTO refreshToken(RefreshTokenRequestDTO request) {
-        String requestRefreshToken = request.getRefreshToken();
-
-        return refreshTokenService.findByToken(requestRefreshToken)
-                .map(refreshTokenService::verifyExpiration)
-                .map(RefreshToken::getUser)
-                .map(user -> {
-                    Authentication authentication = new UsernamePasswordAuthenticationToken(user.getEmail(), null, new ArrayList<>());
-                    String newAccessToken = tokenProvider.generateAccessToken(authentication);
-
-                    RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user.getId());
-                    return new TokenResponseDTO(newAccessToken, newRefreshToken.getToken());
-                })
-                .orElseThrow(() -> new RuntimeException("Refresh token não encontrado no banco de dados!"));
+        RefreshTokenService.TokenOwner owner = refreshTokenService.consume(request.getRefreshToken());
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(owner.email(), null, new ArrayList<>());
+        String newAccessToken = tokenProvider.generateAccessToken(authentication);
+
+        String newRefreshToken = refreshTokenService.issue(owner.userId(), owner.email());
+        return new TokenResponseDTO(newAccessToken, newRefreshToken);
     }
 }
\ No newline at end of file
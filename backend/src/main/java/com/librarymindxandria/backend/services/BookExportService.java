@@ -0,0 +1,157 @@
+package com.librarymindxandria.backend.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymindxandria.backend.dtos.book.BookExportRowDTO;
+import com.librarymindxandria.backend.enums.ExportFormat;
+import com.librarymindxandria.backend.enums.GenreType;
+import com.librarymindxandria.backend.repositories.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog from a forward-only cursor. Rows come ordered by book id,
+ * so the genres of a book are adjacent and each book is written as soon as the next one starts.
+ * The rows are projections, never managed entities, so the persistence context stays empty
+ * and heap use is constant however large the catalog is.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookExportService {
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, Writer writer) throws IOException {
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        try (Stream<BookExportRowDTO> rows = bookRepository.streamAllForExport()) {
+            Iterator<BookExportRowDTO> iterator = rows.iterator();
+            BookExportRowDTO current = null;
+            List<GenreType> genres = new ArrayList<>();
+            long written = 0;
+
+            while (iterator.hasNext()) {
+                BookExportRowDTO row = iterator.next();
+                if (current != null && !current.getId().equals(row.getId())) {
+                    rowWriter.write(current, genres);
+                    genres = new ArrayList<>();
+                    if (++written % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                }
+                current = row;
+                if (row.getGenre() != null) {
+                    genres.add(row.getGenre());
+                }
+            }
+            if (current != null) {
+                rowWriter.write(current, genres);
+            }
+        }
+        rowWriter.finish();
+    }
+
+    private interface RowWriter {
+        void write(BookExportRowDTO book, List<GenreType> genres) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(BookExportRowDTO book, List<GenreType> genres) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("id", book.getId());
+            generator.writeStringField("name", book.getName());
+            generator.writeStringField("shortDescription", book.getShortDescription());
+            generator.writeStringField("longDescription", book.getLongDescription());
+            generator.writeArrayFieldStart("genreType");
+            for (GenreType genre : genres) {
+                generator.writeString(genre.name());
+            }
+            generator.writeEndArray();
+            generator.writeStringField("coverImageName", book.getCoverImageName());
+            generator.writeStringField("createdAt", book.getCreatedAt() == null ? null : book.getCreatedAt().toString());
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+            writer.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("id,name,short_description,long_description,genres,cover_image_name,created_at\r\n");
+        }
+
+        @Override
+        public void write(BookExportRowDTO book, List<GenreType> genres) throws IOException {
+            StringBuilder genreList = new StringBuilder();
+            for (GenreType genre : genres) {
+                if (!genreList.isEmpty()) {
+                    genreList.append('|');
+                }
+                genreList.append(genre.name());
+            }
+
+            writer.write(field(book.getId()));
+            writer.write(',');
+            writer.write(field(book.getName()));
+            writer.write(',');
+            writer.write(field(book.getShortDescription()));
+            writer.write(',');
+            writer.write(field(book.getLongDescription()));
+            writer.write(',');
+            writer.write(field(genreList.toString()));
+            writer.write(',');
+            writer.write(field(book.getCoverImageName()));
+            writer.write(',');
+            writer.write(field(book.getCreatedAt() == null ? null : book.getCreatedAt().toString()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private static String field(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
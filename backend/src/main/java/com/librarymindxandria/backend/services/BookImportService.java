@@ -0,0 +1,276 @@
+package com.librarymindxandria.backend.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.librarymindxandria.backend.core.cache.CacheRegions;
+import com.librarymindxandria.backend.core.cache.CatalogVersion;
+import com.librarymindxandria.backend.core.search.BookSearchIndex;
+import com.librarymindxandria.backend.core.search.BookTrigramIndex;
+import com.librarymindxandria.backend.core.stats.GenreStatsCounter;
+import com.librarymindxandria.backend.dtos.book.BookImportResultDTO;
+import com.librarymindxandria.backend.dtos.book.BookRequestDTO;
+import com.librarymindxandria.backend.enums.GenreType;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports books from an NDJSON stream. Only one batch of records, each capped
+ * at {@code books.bulk.max-line-length} characters, is held in memory at a
+ * time; each batch is written with JDBC batch inserts in its own
+ * transaction and its results are flushed to the report before the next one is read.
+ */
+@Service
+public class BookImportService {
+    private static final Logger logger = LoggerFactory.getLogger(BookImportService.class);
+    private static final String INSERT_BOOK = "INSERT INTO books " +
+            "(id, name, short_description, long_description, user_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_GENRE = "INSERT INTO book_genre_types (book_id, genre_type) VALUES (?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserService userService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookTrigramIndex bookTrigramIndex;
+    private final GenreStatsCounter genreStatsCounter;
+    private final CatalogVersion catalogVersion;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    public BookImportService(ObjectMapper objectMapper,
+                             Validator validator,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             EntityManagerFactory entityManagerFactory,
+                             UserService userService,
+                             BookSearchIndex bookSearchIndex,
+                             BookTrigramIndex bookTrigramIndex,
+                             GenreStatsCounter genreStatsCounter,
+                             CatalogVersion catalogVersion,
+                             @Value("${books.bulk.batch-size:500}") int batchSize,
+                             @Value("${books.bulk.max-line-length:16384}") int maxLineLength) {
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(BookRequestDTO.class);
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.userService = userService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookTrigramIndex = bookTrigramIndex;
+        this.genreStatsCounter = genreStatsCounter;
+        this.catalogVersion = catalogVersion;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxLineLength = maxLineLength;
+    }
+
+    public void importBooks(InputStream input, OutputStream output) throws IOException {
+        String userId = userService.getAuthenticatedUserId();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        JsonGenerator report = objectMapper.getFactory().createGenerator(output);
+        report.setRootValueSeparator(null);
+
+        List<PendingRecord> batch = new ArrayList<>(batchSize);
+        StringBuilder buffer = new StringBuilder();
+        long lineNumber = 0;
+        Line line;
+        while ((line = readLine(reader, buffer)) != null) {
+            lineNumber++;
+            if (line.oversized()) {
+                batch.add(PendingRecord.rejected(lineNumber,
+                        List.of("Registro maior que o limite de " + maxLineLength + " caracteres.")));
+            } else if (line.text().isBlank()) {
+                continue;
+            } else {
+                batch.add(parse(lineNumber, line.text()));
+            }
+            if (batch.size() == batchSize) {
+                writeBatch(batch, userId, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, userId, report);
+        }
+        report.close();
+    }
+
+    /**
+     * Next line without its terminator, {@code null} at the end of the stream
+     * or {@link Line#OVERSIZED} when it is longer than the limit; the rest
+     * of an oversized line is skipped without being buffered.
+     */
+    private Line readLine(BufferedReader reader, StringBuilder buffer) throws IOException {
+        buffer.setLength(0);
+        boolean oversized = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (!oversized) {
+                if (buffer.length() == maxLineLength) {
+                    oversized = true;
+                    buffer.setLength(0);
+                } else {
+                    buffer.append((char) c);
+                }
+            }
+            c = reader.read();
+        }
+        if (oversized) {
+            return Line.OVERSIZED;
+        }
+        int length = buffer.length();
+        if (length > 0 && buffer.charAt(length - 1) == '\r') {
+            buffer.setLength(length - 1);
+        }
+        return new Line(buffer.toString(), false);
+    }
+
+    private PendingRecord parse(long lineNumber, String line) {
+        BookRequestDTO request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            return PendingRecord.rejected(lineNumber, List.of("JSON inválido: " + ex.getOriginalMessage()));
+        }
+
+        Set<ConstraintViolation<BookRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            List<String> errors = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList();
+            return PendingRecord.rejected(lineNumber, errors);
+        }
+        return new PendingRecord(lineNumber, UUID.randomUUID().toString(), request, null);
+    }
+
+    private void writeBatch(List<PendingRecord> batch, String userId, JsonGenerator report) throws IOException {
+        List<PendingRecord> accepted = batch.stream().filter(PendingRecord::isAccepted).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        Set<PendingRecord> failed = new HashSet<>();
+        if (!accepted.isEmpty() && !insert(accepted, userId, now)) {
+            // One bad record fails the whole JDBC batch, so find it by writing the records one by one
+            for (PendingRecord record : accepted) {
+                if (!insert(List.of(record), userId, now)) {
+                    failed.add(record);
+                }
+            }
+        }
+        List<PendingRecord> written = accepted.stream().filter(record -> !failed.contains(record)).toList();
+        if (!written.isEmpty()) {
+            indexImported(written, now);
+        }
+
+        for (PendingRecord record : batch) {
+            BookImportResultDTO result;
+            if (!record.isAccepted()) {
+                result = BookImportResultDTO.rejected(record.line(), record.errors());
+            } else if (!failed.contains(record)) {
+                result = BookImportResultDTO.created(record.line(), record.id());
+            } else {
+                result = BookImportResultDTO.rejected(record.line(), List.of("Não foi possível gravar este registro."));
+            }
+            objectMapper.writeValue(report, result);
+            report.writeRaw('\n');
+        }
+        report.flush();
+    }
+
+    private boolean insert(List<PendingRecord> accepted, String userId, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> books = new ArrayList<>(accepted.size());
+        List<Object[]> genres = new ArrayList<>();
+        for (PendingRecord record : accepted) {
+            BookRequestDTO request = record.request();
+            books.add(new Object[]{record.id(), request.getName(), request.getShortDescription(),
+                    request.getLongDescription(), userId, timestamp, timestamp});
+            for (GenreType genre : genresOf(request)) {
+                genres.add(new Object[]{record.id(), genre.name()});
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_BOOK, books);
+                if (!genres.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_GENRE, genres);
+                }
+            });
+            return true;
+        } catch (DataAccessException ex) {
+            logger.warn("Falha ao gravar lote de {} livros importados", accepted.size(), ex);
+            return false;
+        }
+    }
+
+    private void indexImported(List<PendingRecord> accepted, LocalDateTime createdAt) {
+        // JDBC inserts bypass Hibernate, so cached listings would not see the new books
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion(CacheRegions.BOOK_QUERIES);
+
+        List<GenreType> genres = new ArrayList<>();
+        for (PendingRecord record : accepted) {
+            BookRequestDTO request = record.request();
+            bookSearchIndex.index(record.id(), request.getName(), request.getShortDescription(), createdAt);
+            bookTrigramIndex.index(record.id(), request.getName());
+            genres.addAll(genresOf(request));
+        }
+        genreStatsCounter.increment(genres);
+        catalogVersion.bump();
+    }
+
+    private static List<GenreType> genresOf(BookRequestDTO request) {
+        if (request.getGenreType() == null) {
+            return List.of();
+        }
+        return request.getGenreType().stream().filter(Objects::nonNull).toList();
+    }
+
+    private record Line(String text, boolean oversized) {
+        static final Line OVERSIZED = new Line(null, true);
+    }
+
+    private record PendingRecord(long line, String id, BookRequestDTO request, List<String> errors) {
+        static PendingRecord rejected(long line, List<String> errors) {
+            return new PendingRecord(line, null, null, errors);
+        }
+
+        boolean isAccepted() {
+            return errors == null;
+        }
+    }
+}
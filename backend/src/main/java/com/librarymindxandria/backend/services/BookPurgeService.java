@@ -0,0 +1,121 @@
+package com.librarymindxandria.backend.services;
+
+import com.librarymindxandria.backend.core.TransactionHooks;
+import com.librarymindxandria.backend.models.Book;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removes tombstoned books for good, in small batches with a pause between
+ * them so the purge never holds long locks or competes with request traffic.
+ * Each batch deletes the genre rows and the books in one transaction and
+ * releases the covers they referenced.
+ */
+@Service
+public class BookPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookPurgeService.class);
+
+    private static final String SELECT_TOMBSTONES = "SELECT id, cover_image_name FROM books " +
+            "WHERE deleted_at IS NOT NULL AND deleted_at < ? ORDER BY deleted_at LIMIT ?";
+    private static final String DELETE_GENRES = "DELETE FROM book_genre_types " +
+            "WHERE book_id IN (SELECT id FROM books WHERE id = ? AND deleted_at IS NOT NULL)";
+    private static final String DELETE_BOOK = "DELETE FROM books WHERE id = ? AND deleted_at IS NOT NULL";
+
+    private static final String GENRES_ROLE = Book.class.getName() + ".genreTypes";
+
+    private record Tombstone(String id, String coverImageName) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final FileStorageService fileStorageService;
+    private final long retentionMillis;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public BookPurgeService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            EntityManagerFactory entityManagerFactory,
+                            FileStorageService fileStorageService,
+                            @Value("${books.purge.retention-ms:86400000}") long retentionMillis,
+                            @Value("${books.purge.batch-size:200}") int batchSize,
+                            @Value("${books.purge.pause-ms:250}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.fileStorageService = fileStorageService;
+        this.retentionMillis = retentionMillis;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(initialDelayString = "${books.purge.interval-ms:600000}",
+            fixedDelayString = "${books.purge.interval-ms:600000}")
+    public void purgeDeleted() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(retentionMillis)));
+        int purged = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> purgeBatch(cutoff));
+            purged += batch;
+            if (batch < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (purged > 0) {
+            logger.info("Livros excluídos removidos definitivamente: {}", purged);
+        }
+    }
+
+    private int purgeBatch(Timestamp cutoff) {
+        List<Tombstone> tombstones = jdbcTemplate.query(SELECT_TOMBSTONES,
+                (rs, rowNum) -> new Tombstone(rs.getString("id"), rs.getString("cover_image_name")),
+                cutoff, batchSize);
+        if (tombstones.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> ids = tombstones.stream().map(tombstone -> new Object[]{tombstone.id()}).toList();
+        jdbcTemplate.batchUpdate(DELETE_GENRES, ids);
+        int[] deleted = jdbcTemplate.batchUpdate(DELETE_BOOK, ids);
+
+        List<String> purgedIds = new ArrayList<>(tombstones.size());
+        for (int i = 0; i < tombstones.size(); i++) {
+            if (deleted[i] != 0) {
+                purgedIds.add(tombstones.get(i).id());
+                fileStorageService.releaseFile(tombstones.get(i).coverImageName());
+            }
+        }
+
+        // Plain JDBC bypasses the second-level cache, so drop the entries by hand.
+        TransactionHooks.afterCommit(() -> {
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            purgedIds.forEach(id -> {
+                cache.evictEntityData(Book.class, id);
+                cache.evictCollectionData(GENRES_ROLE, id);
+            });
+        });
+        return tombstones.size();
+    }
+}
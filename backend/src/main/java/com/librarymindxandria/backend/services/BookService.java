@@ -1,63 +1,133 @@
 package com.librarymindxandria.backend.services;
 
+import com.librarymindxandria.backend.core.TransactionHooks;
+import com.librarymindxandria.backend.core.cache.CatalogVersion;
+import com.librarymindxandria.backend.core.search.BookSearchIndex;
+import com.librarymindxandria.backend.core.search.BookTrigramIndex;
+import com.librarymindxandria.backend.core.stats.GenreStatsCounter;
+import com.librarymindxandria.backend.dtos.book.BookCursor;
+import com.librarymindxandria.backend.dtos.book.BookCursorPageDTO;
+import com.librarymindxandria.backend.dtos.book.BookGenreDTO;
 import com.librarymindxandria.backend.dtos.book.BookRequestDTO;
 import com.librarymindxandria.backend.dtos.book.BookUpdateRequestDTO;
 import com.librarymindxandria.backend.dtos.genre.GenreStatDTO;
+import com.librarymindxandria.backend.enums.BookView;
+import com.librarymindxandria.backend.enums.GenreType;
 import com.librarymindxandria.backend.models.Book;
 import com.librarymindxandria.backend.dtos.book.BookResponseDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowPageDTO;
 import com.librarymindxandria.backend.models.User;
 import com.librarymindxandria.backend.repositories.BookRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("library.books.service")
 public class BookService {
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final BookRepository bookRepository;
     private final UserService userService;
     private final FileStorageService fileStorageService;
+    private final CoverVariantService coverVariantService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookTrigramIndex bookTrigramIndex;
+    private final GenreStatsCounter genreStatsCounter;
+    private final CatalogVersion catalogVersion;
 
     @Transactional
     public List<GenreStatDTO> getGenreStats(){
+        if (genreStatsCounter.isReady()) {
+            return genreStatsCounter.snapshot();
+        }
         return bookRepository.countBooksByGenre();
     }
 
     @Transactional
-    public List<BookResponseDTO> getMyBooks(){
-        User user = userService.getAuthenticatedUserEntity();
+    public List<BookResponseDTO> getMyBooks(BookView view){
+        List<BookRowDTO> rows = bookRepository.findRowsByUserId(
+                userService.getAuthenticatedUserId(), view.includesLongDescription());
 
-        List<Book> userBooks = bookRepository.findByUser(user);
+        return mapRowsToDTOs(rows);
+    }
 
-        return userBooks.stream()
-                .map(this::mapBookToDTO)
-                .toList();
+    @Transactional
+    public BookRowPageDTO getAllBookRows(String searchTerm, boolean fuzzy, BookView view, Pageable pageable){
+        Page<BookRowDTO> rows = findAllRows(searchTerm, fuzzy, view.includesLongDescription(), pageable);
+        return new BookRowPageDTO(rows, genresByBook(rows.getContent()));
     }
 
     @Transactional
-    public Page<BookResponseDTO> getAllBooks(String searchTerm, Pageable pageable){
-        Page<Book> booksPage;
+    public BookResponseDTO getBook(String bookId) {
+        List<BookRowDTO> rows = bookRepository.findRowsByIds(List.of(bookId), true);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Livro não encontrado");
+        }
+        return mapRowsToDTOs(rows).get(0);
+    }
 
-        if (searchTerm == null|| searchTerm.isBlank()){
-            booksPage = bookRepository.findAll(pageable);
-        }else {
-            booksPage = bookRepository.searchBooks(searchTerm,pageable);
+    @Transactional
+    public BookCursorPageDTO scrollBooks(String searchTerm, String cursor, int size, BookView view) {
+        boolean full = view.includesLongDescription();
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        BookCursor after = BookCursor.decode(cursor);
+        PageRequest firstRows = PageRequest.of(0, limit + 1);
+
+        if (searchTerm != null && !searchTerm.isBlank() && bookSearchIndex.isReady()) {
+            // The cursor comes from the index: books deleted since they were indexed drop out of
+            // the page, but must not end the scroll early
+            List<BookSearchIndex.Position> matches =
+                    bookSearchIndex.searchAfter(searchTerm, after.createdAt(), after.id(), limit + 1);
+            String nextCursor = null;
+            if (matches.size() > limit) {
+                matches = matches.subList(0, limit);
+                BookSearchIndex.Position last = matches.get(limit - 1);
+                nextCursor = new BookCursor(last.createdAt(), last.bookId()).encode();
+            }
+            List<String> ids = matches.stream().map(BookSearchIndex.Position::bookId).toList();
+            return new BookCursorPageDTO(mapRowsToDTOs(loadRowsInOrder(ids, full)), nextCursor);
+        }
+
+        List<BookRowDTO> rows;
+        if (searchTerm == null || searchTerm.isBlank()) {
+            rows = bookRepository.findPageBefore(after.createdAt(), after.id(), full, firstRows);
+        } else {
+            rows = bookRepository.searchPageBefore(searchTerm, after.createdAt(), after.id(), full, firstRows);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            BookRowDTO last = rows.get(limit - 1);
+            nextCursor = new BookCursor(last.getCreatedAt(), last.getId()).encode();
         }
-        return booksPage.map(this::mapBookToDTO);
+
+        return new BookCursorPageDTO(mapRowsToDTOs(rows), nextCursor);
     }
 
     @Transactional
     public BookResponseDTO createBook(BookRequestDTO requestDTO){
 
-        User user = userService.getAuthenticatedUserEntity();
+        User user = userService.getAuthenticatedUserReference();
 
         Book newBook = new Book();
         newBook.setName(requestDTO.getName());
@@ -68,6 +138,13 @@ public class BookService {
         newBook.setUser(user);
 
         Book savedBook = bookRepository.save(newBook);
+        Runnable reindex = reindexTask(savedBook);
+        List<GenreType> genres = genresOf(savedBook);
+        TransactionHooks.afterCommit(() -> {
+            reindex.run();
+            genreStatsCounter.increment(genres);
+            catalogVersion.bump();
+        });
 
         return mapBookToDTO(savedBook);
 
@@ -75,18 +152,25 @@ public class BookService {
 
     @Transactional
     public BookResponseDTO uploadBookCover(String bookId, MultipartFile file) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new RuntimeException("Livro não encontrado"));
+        Book book = findLiveBook(bookId);
 
-        User currentUser = userService.getAuthenticatedUserEntity();
-        if (!book.getUser().getId().equals(currentUser.getId())) {
+        String currentUserId = userService.getAuthenticatedUserId();
+        if (!book.getUser().getId().equals(currentUserId)) {
             throw new AccessDeniedException("Você não tem permissão para editar este livro.");
         }
 
+        String previousCover = book.getCoverImageName();
         String filename = fileStorageService.storeFile(file);
 
         book.setCoverImageName(filename);
+        if (previousCover != null && !previousCover.equals(filename)) {
+            fileStorageService.releaseFile(previousCover);
+        }
         Book updatedBook = bookRepository.save(book);
+        TransactionHooks.afterCommit(() -> {
+            coverVariantService.generateVariantsAsync(filename);
+            catalogVersion.bump();
+        });
 
         return mapBookToDTO(updatedBook);
     }
@@ -94,11 +178,11 @@ public class BookService {
     @Transactional
     public BookResponseDTO updateMyBook(String bookId, BookUpdateRequestDTO updateRequestDTO){
 
-        User currentUser = userService.getAuthenticatedUserEntity();
+        String currentUserId = userService.getAuthenticatedUserId();
 
-        Book bookToUpdate = bookRepository.findById(bookId).orElseThrow(() -> new RuntimeException("Livro não encontrado"));
+        Book bookToUpdate = findLiveBook(bookId);
 
-        if (!bookToUpdate.getUser().getId().equals(currentUser.getId())) {
+        if (!bookToUpdate.getUser().getId().equals(currentUserId)) {
             throw new AccessDeniedException("Você não tem permissão para editar este livro.");
         }
 
@@ -110,21 +194,137 @@ public class BookService {
                 .ifPresent(bookToUpdate::setShortDescription);
 
         Book updatedBook = bookRepository.save(bookToUpdate);
+        Runnable reindex = reindexTask(updatedBook);
+        TransactionHooks.afterCommit(() -> {
+            reindex.run();
+            catalogVersion.bump();
+        });
         return mapBookToDTO(updatedBook);
     }
 
+    /**
+     * Tombstones the book: the request only issues one UPDATE of
+     * {@code deleted_at}. Its genres and cover are released later by
+     * {@link BookPurgeService}.
+     */
     @Transactional
     public void deleteMyBook(String bookId){
-        User currentUser = userService.getAuthenticatedUserEntity();
+        String currentUserId = userService.getAuthenticatedUserId();
 
-        Book bookToDelete = bookRepository.findById(bookId)
-                .orElseThrow(() -> new RuntimeException("Livro não encontrado"));
+        Book bookToDelete = findLiveBook(bookId);
 
-        if (!bookToDelete.getUser().getId().equals(currentUser.getId())){
+        if (!bookToDelete.getUser().getId().equals(currentUserId)){
             throw new AccessDeniedException("Você não tem permissão para deletar este livro");
         }
-        bookRepository.delete(bookToDelete);
+        List<GenreType> genres = genresOf(bookToDelete);
+        bookToDelete.setDeletedAt(LocalDateTime.now());
+        bookRepository.save(bookToDelete);
+        TransactionHooks.afterCommit(() -> {
+            bookSearchIndex.remove(bookId);
+            bookTrigramIndex.remove(bookId);
+            genreStatsCounter.decrement(genres);
+            catalogVersion.bump();
+        });
+    }
+
+    /**
+     * By primary key, so it is usually answered by the second-level cache;
+     * tombstoned books are treated as missing.
+     */
+    private Book findLiveBook(String bookId) {
+        return bookRepository.findById(bookId)
+                .filter(book -> !book.isDeleted())
+                .orElseThrow(() -> new RuntimeException("Livro não encontrado"));
+    }
+
+    private static List<GenreType> genresOf(Book book) {
+        return book.getGenreTypes() == null ? List.of() : new ArrayList<>(book.getGenreTypes());
+    }
+
+    /**
+     * Captures the indexed fields now; run it from the after-commit callback.
+     */
+    private Runnable reindexTask(Book book) {
+        String id = book.getId();
+        String name = book.getName();
+        String shortDescription = book.getShortDescription();
+        LocalDateTime createdAt = book.getCreatedAt();
+        return () -> {
+            bookSearchIndex.index(id, name, shortDescription, createdAt);
+            bookTrigramIndex.index(id, name);
+        };
+    }
+
+    private Page<BookRowDTO> findAllRows(String searchTerm, boolean fuzzy, boolean full, Pageable pageable) {
+        if (searchTerm == null|| searchTerm.isBlank()){
+            return bookRepository.findAllRows(full, pageable);
+        }
+        if (fuzzy && bookTrigramIndex.isReady()) {
+            return hydratePage(bookTrigramIndex.search(searchTerm), full, pageable);
+        }
+        if (!bookSearchIndex.isReady()) {
+            return bookRepository.searchBooks(searchTerm, full, pageable);
+        }
+        return hydratePage(bookSearchIndex.search(searchTerm), full, pageable);
+    }
+
+    private Page<BookRowDTO> hydratePage(List<String> rankedIds, boolean full, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+
+        return new PageImpl<>(loadRowsInOrder(rankedIds.subList(from, to), full), pageable, rankedIds.size());
+    }
+
+    private List<BookRowDTO> loadRowsInOrder(List<String> ids, boolean full) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, BookRowDTO> rowsById = bookRepository.findRowsByIds(ids, full).stream()
+                .collect(Collectors.toMap(BookRowDTO::getId, Function.identity()));
+
+        return ids.stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Maps projected rows, loading the genres of all of them in one query
+     * instead of one lazy collection load per book.
+     */
+    private List<BookResponseDTO> mapRowsToDTOs(List<BookRowDTO> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<GenreType>> genresByBook = genresByBook(rows);
+        String fileBaseUri = fileStorageService.fileBaseUri();
+
+        return rows.stream()
+                .map(row -> mapRowToDTO(row, genresByBook.getOrDefault(row.getId(), List.of()), fileBaseUri))
+                .toList();
     }
+
+    private Map<String, List<GenreType>> genresByBook(List<BookRowDTO> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        return bookRepository
+                .findGenresByBookIds(rows.stream().map(BookRowDTO::getId).toList()).stream()
+                .collect(Collectors.groupingBy(BookGenreDTO::getBookId,
+                        Collectors.mapping(BookGenreDTO::getGenre, Collectors.toList())));
+    }
+
+    private BookResponseDTO mapRowToDTO(BookRowDTO row, List<GenreType> genres, String fileBaseUri) {
+        BookResponseDTO responseDTO = new BookResponseDTO();
+        responseDTO.setId(row.getId());
+        responseDTO.setName(row.getName());
+        responseDTO.setShortDescription(row.getShortDescription());
+        responseDTO.setLongDescription(row.getLongDescription());
+        responseDTO.setGenreType(genres);
+        responseDTO.setCoverImageUrl(FileStorageService.buildFileUri(fileBaseUri, row.getCoverImageName()));
+        return responseDTO;
+    }
+
     private BookResponseDTO mapBookToDTO(Book book) {
         BookResponseDTO responseDTO = new BookResponseDTO();
         responseDTO.setId(book.getId());
@@ -0,0 +1,110 @@
+package com.librarymindxandria.backend.services;
+
+import com.librarymindxandria.backend.enums.CoverSize;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+
+@Service
+public class CoverVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoverVariantService.class);
+
+    private static final Set<String> SUPPORTED_FORMATS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+    private final FileStorageService fileStorageService;
+    private final TaskExecutor coverVariantExecutor;
+
+    public CoverVariantService(FileStorageService fileStorageService,
+                               @Qualifier("coverVariantExecutor") TaskExecutor coverVariantExecutor) {
+        this.fileStorageService = fileStorageService;
+        this.coverVariantExecutor = coverVariantExecutor;
+    }
+
+    public void generateVariantsAsync(String filename) {
+        try {
+            coverVariantExecutor.execute(() -> generateVariants(filename));
+        } catch (TaskRejectedException ex) {
+            logger.warn("Fila de miniaturas cheia; {} será servido no tamanho original", filename);
+        }
+    }
+
+    public void generateVariants(String filename) {
+        String format = formatOf(filename);
+        if (format == null) {
+            return;
+        }
+
+        try {
+            BufferedImage source = ImageIO.read(fileStorageService.resolvePath(filename).toFile());
+            if (source == null) {
+                return;
+            }
+
+            for (CoverSize size : CoverSize.values()) {
+                String variantName = size.variantName(filename);
+                if (source.getWidth() <= size.getMaxWidth()
+                        || Files.exists(fileStorageService.resolvePath(variantName))) {
+                    continue;
+                }
+                writeAtomically(scale(source, size.getMaxWidth(), format), format, variantName);
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Não foi possível gerar as miniaturas de {}", filename, ex);
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, String format) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        int type = format.startsWith("jp") || format.equals("bmp")
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void writeAtomically(BufferedImage image, String format, String variantName) throws IOException {
+        Path temp = fileStorageService.createStagingFile();
+        try {
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                return;
+            }
+            fileStorageService.publish(temp, variantName);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String formatOf(String filename) {
+        String extension = StringUtils.getFilenameExtension(filename);
+        if (extension == null) {
+            return null;
+        }
+        extension = extension.toLowerCase(Locale.ROOT);
+        return SUPPORTED_FORMATS.contains(extension) ? extension : null;
+    }
+}
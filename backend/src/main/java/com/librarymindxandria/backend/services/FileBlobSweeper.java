@@ -0,0 +1,134 @@
+package com.librarymindxandria.backend.services;
+
+import com.librarymindxandria.backend.repositories.FileBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deletes stored files nothing references any more. A file is only removed
+ * while its blob row is being deleted in the same transaction: the delete
+ * locks the row, so an upload of the same content either waits and then
+ * recreates row and file, or already holds a reference and the row is kept.
+ *
+ * <p>Files without any row (their upload was rolled back) are claimed with
+ * an unreferenced row and go through the same path once they are older than
+ * the grace period.
+ */
+@Service
+public class FileBlobSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileBlobSweeper.class);
+
+    private final FileBlobRepository fileBlobRepository;
+    private final FileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long orphanGraceMillis;
+
+    public FileBlobSweeper(FileBlobRepository fileBlobRepository,
+                           FileStorageService fileStorageService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${file.sweep.batch-size:200}") int batchSize,
+                           @Value("${file.sweep.orphan-grace-ms:3600000}") long orphanGraceMillis) {
+        this.fileBlobRepository = fileBlobRepository;
+        this.fileStorageService = fileStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.orphanGraceMillis = orphanGraceMillis;
+    }
+
+    @Scheduled(initialDelayString = "${file.sweep.interval-ms:600000}",
+            fixedDelayString = "${file.sweep.interval-ms:600000}")
+    public void sweepUnreferenced() {
+        int deleted = 0;
+        Set<String> kept = new HashSet<>();
+        while (true) {
+            List<String> names = new ArrayList<>(fileBlobRepository.findUnreferencedNames(PageRequest.of(0, batchSize)));
+            names.removeIf(kept::contains);
+            if (names.isEmpty()) {
+                break;
+            }
+            for (String name : names) {
+                if (deleteIfUnreferenced(name)) {
+                    deleted++;
+                } else {
+                    kept.add(name);
+                }
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Arquivos sem referência removidos: {}", deleted);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${file.sweep.orphan-interval-ms:86400000}",
+            fixedDelayString = "${file.sweep.orphan-interval-ms:86400000}")
+    public void sweepOrphans() {
+        List<String> batch = new ArrayList<>(batchSize);
+        int[] deleted = {0};
+        try {
+            fileStorageService.forEachStoredOriginal(System.currentTimeMillis() - orphanGraceMillis, name -> {
+                batch.add(name);
+                if (batch.size() >= batchSize) {
+                    deleted[0] += deleteOrphans(batch);
+                    batch.clear();
+                }
+            });
+            deleted[0] += deleteOrphans(batch);
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Varredura de arquivos órfãos interrompida após {} arquivos", deleted[0], ex);
+            return;
+        }
+        if (deleted[0] > 0) {
+            logger.info("Arquivos órfãos removidos: {}", deleted[0]);
+        }
+    }
+
+    private int deleteOrphans(List<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        Set<String> orphans = new HashSet<>(names);
+        fileBlobRepository.findExistingNames(names).forEach(orphans::remove);
+
+        int deleted = 0;
+        for (String name : orphans) {
+            Boolean removed = transactionTemplate.execute(status ->
+                    fileBlobRepository.insertIfAbsent(UUID.randomUUID().toString(), name, 0) > 0
+                            && deleteUnreferencedRow(name));
+            if (Boolean.TRUE.equals(removed)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private boolean deleteIfUnreferenced(String name) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> deleteUnreferencedRow(name)));
+    }
+
+    /**
+     * Must run inside a transaction: the file goes away while the row delete
+     * still holds its lock.
+     */
+    private boolean deleteUnreferencedRow(String name) {
+        if (fileBlobRepository.deleteIfUnreferenced(name) == 0) {
+            return false;
+        }
+        fileStorageService.deleteWithVariants(name);
+        return true;
+    }
+}
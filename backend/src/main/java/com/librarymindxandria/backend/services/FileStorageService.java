@@ -1,88 +1,352 @@
 package com.librarymindxandria.backend.services;
 
 import com.librarymindxandria.backend.dtos.upload.LoadedFile;
+import com.librarymindxandria.backend.enums.CoverSize;
+import com.librarymindxandria.backend.repositories.FileBlobRepository;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.ServletContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+/**
+ * Files live in a two-level shard derived from the SHA-256 of their name
+ * ({@code ab/cd/<name>}) and are written through a staging directory plus an
+ * atomic rename. Files from the old flat layout are moved into their shard
+ * in the background and are still resolved until they have been migrated.
+ */
 @Service
 public class FileStorageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
+
+    private static final String STAGING_DIRECTORY = ".staging";
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^[0-9a-f]{64}(?:\\.[a-z0-9]{1,10})?$");
+
     private final Path fileStorageLocation;
+    private final Path stagingLocation;
+    private final boolean migrateFlatLayout;
+    private final boolean virtualThreads;
+    private final long stagingMaxAgeMs;
     private final ServletContext servletContext;
+    private final FileBlobRepository fileBlobRepository;
 
     public FileStorageService(@Value("${file.upload-dir:./uploads}") String uploadDir,
-                              ServletContext servletContext) {
+                              @Value("${file.migrate-flat-layout:true}") boolean migrateFlatLayout,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                              @Value("${file.staging.max-age-ms:3600000}") long stagingMaxAgeMs,
+                              ServletContext servletContext,
+                              FileBlobRepository fileBlobRepository) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.stagingLocation = this.fileStorageLocation.resolve(STAGING_DIRECTORY);
+        this.migrateFlatLayout = migrateFlatLayout;
+        this.virtualThreads = virtualThreads;
+        this.stagingMaxAgeMs = stagingMaxAgeMs;
         this.servletContext = servletContext;
+        this.fileBlobRepository = fileBlobRepository;
     }
 
     @PostConstruct
     public void init() {
         try {
             Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.stagingLocation);
+            // The volume may be shared: only writes old enough to be abandoned are removed
+            long cutoff = System.currentTimeMillis() - stagingMaxAgeMs;
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(this.stagingLocation)) {
+                for (Path leftover : leftovers) {
+                    if (lastModifiedMillis(leftover) < cutoff) {
+                        Files.deleteIfExists(leftover);
+                    }
+                }
+            }
         } catch (Exception ex) {
             throw new RuntimeException(
                     "Não foi possível criar o diretório onde os arquivos serão armazenados.", ex);
         }
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void startFlatLayoutMigration() {
+        if (migrateFlatLayout) {
+            Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+            builder.name("uploads-migration").start(this::migrateFlatLayout);
+        }
+    }
+
+    void migrateFlatLayout() {
+        int migrated = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.fileStorageLocation, Files::isRegularFile)) {
+            for (Path flatFile : entries) {
+                String filename = flatFile.getFileName().toString();
+                if (filename.startsWith(".")) {
+                    continue;
+                }
+                Path target = shardedPath(filename);
+                // An atomic move replaces an existing target on POSIX instead of failing
+                if (Files.exists(target)) {
+                    logger.warn("Arquivo {} já existe no layout particionado; mantendo a cópia antiga", filename);
+                    continue;
+                }
+                Files.createDirectories(target.getParent());
+                Files.move(flatFile, target, StandardCopyOption.ATOMIC_MOVE);
+                migrated++;
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Migração do diretório de uploads interrompida após {} arquivos", migrated, ex);
+            return;
+        }
+        if (migrated > 0) {
+            logger.info("Migração do diretório de uploads concluída: {} arquivos movidos", migrated);
+        }
+    }
 
+
+    /**
+     * Stores the upload under the SHA-256 of its content. The upload is hashed
+     * before anything is written, so a duplicate only bumps the blob's
+     * reference count and its body never touches the disk again.
+     */
     public String storeFile(MultipartFile file) {
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
 
-        String uniqueFilename = UUID.randomUUID().toString() + "_" + originalFilename;
+        if (originalFilename.contains("..")) {
+            throw new RuntimeException(
+                    "Desculpe! O nome do arquivo contém uma sequência de caminho inválida: " + originalFilename);
+        }
 
         try {
-            if (uniqueFilename.contains("..")) {
-                throw new RuntimeException(
-                        "Desculpe! O nome do arquivo contém uma sequência de caminho inválida: " + uniqueFilename);
+            String storedName = contentAddress(file, StringUtils.getFilenameExtension(originalFilename));
+
+            if (fileBlobRepository.incrementRefCount(storedName) == 0) {
+                fileBlobRepository.insertIfAbsent(UUID.randomUUID().toString(), storedName, file.getSize());
+                fileBlobRepository.incrementRefCount(storedName);
             }
 
-            Path targetLocation = this.fileStorageLocation.resolve(uniqueFilename);
+            // The reference taken above locks the row, so the sweeper cannot remove the file from here on.
+            if (!Files.exists(resolvePath(storedName))) {
+                writeAtomically(file, storedName);
+            }
+            return storedName;
 
-            try (InputStream inputStream = file.getInputStream()) {
-                Files.copy(inputStream, targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            throw new RuntimeException("Não foi possível armazenar o arquivo " + originalFilename + ". Por favor, tente novamente!", ex);
+        }
+    }
+
+    /**
+     * Drops one reference to a stored file. Blobs left without references
+     * are deleted, with their variants, by {@link FileBlobSweeper}. Files
+     * stored before content addressing have no blob and are left untouched.
+     */
+    public void releaseFile(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return;
+        }
+        fileBlobRepository.decrementRefCount(filename);
+    }
+
+    void deleteWithVariants(String filename) {
+        try {
+            deleteStored(filename);
+            for (CoverSize size : CoverSize.values()) {
+                deleteStored(size.variantName(filename));
             }
+        } catch (IOException ex) {
+            throw new RuntimeException("Não foi possível remover o arquivo " + filename, ex);
+        }
+    }
 
-            return uniqueFilename;
+    /**
+     * Content-addressed originals in the shards last modified before the
+     * cutoff; variants and files from before content addressing are skipped.
+     */
+    void forEachStoredOriginal(long modifiedBeforeMillis, Consumer<String> action) throws IOException {
+        try (Stream<Path> files = Files.walk(this.fileStorageLocation, 3)) {
+            files.filter(path -> !path.startsWith(this.stagingLocation))
+                    .filter(path -> this.fileStorageLocation.relativize(path).getNameCount() == 3)
+                    .filter(path -> CONTENT_ADDRESSED_NAME.matcher(path.getFileName().toString()).matches())
+                    .filter(path -> lastModifiedMillis(path) < modifiedBeforeMillis)
+                    .forEach(path -> action.accept(path.getFileName().toString()));
+        }
+    }
 
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
         } catch (IOException ex) {
-            throw new RuntimeException("Não foi possível armazenar o arquivo " + uniqueFilename + ". Por favor, tente novamente!", ex);
+            return Long.MAX_VALUE;
         }
     }
 
+    private String contentAddress(MultipartFile file, String extension) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), sha256)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+
+        String hash = HexFormat.of().formatHex(sha256.digest());
+        return extension == null || !extension.matches("[A-Za-z0-9]{1,10}")
+                ? hash
+                : hash + "." + extension.toLowerCase(Locale.ROOT);
+    }
+
+    private void deleteStored(String filename) throws IOException {
+        Files.deleteIfExists(shardedPath(filename));
+        Files.deleteIfExists(flatPath(filename));
+    }
+
+    private void writeAtomically(MultipartFile file, String filename) throws IOException {
+        Path temp = createStagingFile();
+        try {
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            publish(temp, filename);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Temporary file on the same file system as the shards, so
+     * {@link #publish} can rename it into place atomically.
+     */
+    public Path createStagingFile() throws IOException {
+        return Files.createTempFile(this.stagingLocation, "write-", ".tmp");
+    }
+
+    public void publish(Path stagedFile, String filename) throws IOException {
+        Path target = shardedPath(filename);
+        Files.createDirectories(target.getParent());
+        Files.move(stagedFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
 
     public String buildFileUri(String filename) {
         if (filename == null || filename.isBlank()) {
             return null;
         }
 
+        return buildFileUri(fileBaseUri(), filename);
+    }
+
+    /**
+     * Base of every file URL for the current request. Resolving it parses the
+     * request's host and forwarded headers, so listings do it once per page.
+     */
+    public String fileBaseUri() {
         return ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/files/")
-                .path(filename)
                 .toUriString();
     }
 
+    public static String buildFileUri(String fileBaseUri, String filename) {
+        if (filename == null || filename.isBlank()) {
+            return null;
+        }
+        return fileBaseUri + UriUtils.encodePathSegment(filename, StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Where the file currently is: its shard, or the flat directory while it
+     * has not been migrated yet. Anything else resolves to the shard, which is
+     * also where a file moved by the migration between both checks ends up.
+     */
+    public Path resolvePath(String filename) {
+        Path sharded = shardedPath(filename);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path flat = flatPath(filename);
+        if (Files.exists(flat)) {
+            return flat;
+        }
+        return sharded;
+    }
+
+    Path shardedPath(String filename) {
+        validateName(filename);
+        String shard = shardOf(filename);
+        return this.fileStorageLocation
+                .resolve(shard.substring(0, 2))
+                .resolve(shard.substring(2, 4))
+                .resolve(filename);
+    }
+
+    private Path flatPath(String filename) {
+        validateName(filename);
+        return this.fileStorageLocation.resolve(filename);
+    }
+
+    private static void validateName(String filename) {
+        if (filename == null || filename.isBlank() || filename.startsWith(".")
+                || filename.contains("/") || filename.contains("\\")) {
+            throw new RuntimeException("Arquivo não encontrado: " + filename);
+        }
+    }
+
+    private static String shardOf(String filename) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(filename.getBytes(StandardCharsets.UTF_8)), 0, 2);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    /**
+     * Serves the requested variant when it has already been generated and
+     * falls back to the original otherwise.
+     */
+    public LoadedFile loadFileAsResource(String filename, CoverSize size) {
+        if (size != null) {
+            String variantName = size.variantName(filename);
+            if (Files.exists(resolvePath(variantName))) {
+                return loadFileAsResource(variantName);
+            }
+        }
+        return loadFileAsResource(filename);
+    }
 
     public LoadedFile loadFileAsResource(String filename) {
         try {
-            Path filePath = this.fileStorageLocation.resolve(filename).normalize();
+            Path filePath = resolvePath(filename);
             Resource resource = new UrlResource(filePath.toUri());
 
             if (!resource.exists()) {
@@ -98,7 +362,7 @@ public class FileStorageService {
                 contentType = "application/octet-stream";
             }
 
-            return new LoadedFile(resource, contentType);
+            return new LoadedFile(resource, contentType, filePath);
 
         } catch (MalformedURLException ex) {
             throw new RuntimeException("Arquivo não encontrado: " + filename, ex);
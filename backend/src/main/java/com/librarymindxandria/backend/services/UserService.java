@@ -1,15 +1,29 @@
 package com.librarymindxandria.backend.services;
 
+import com.librarymindxandria.backend.core.TransactionHooks;
+import com.librarymindxandria.backend.core.cache.CatalogVersion;
+import com.librarymindxandria.backend.core.config.CustomUserDetailsService;
+import com.librarymindxandria.backend.core.security.AuthenticatedUser;
+import com.librarymindxandria.backend.core.security.PrincipalCache;
+import com.librarymindxandria.backend.core.security.token.RefreshTokenService;
+import com.librarymindxandria.backend.core.search.BookSearchIndex;
+import com.librarymindxandria.backend.core.search.BookTrigramIndex;
+import com.librarymindxandria.backend.core.stats.GenreStatsCounter;
 import com.librarymindxandria.backend.dtos.user.UserResponseDTO;
 import com.librarymindxandria.backend.dtos.user.UserUpdateRequestDTO;
+import com.librarymindxandria.backend.enums.GenreType;
+import com.librarymindxandria.backend.models.Book;
 import com.librarymindxandria.backend.models.User;
 import com.librarymindxandria.backend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -17,26 +31,55 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCache principalCache;
+    private final FileStorageService fileStorageService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookTrigramIndex bookTrigramIndex;
+    private final GenreStatsCounter genreStatsCounter;
+    private final CatalogVersion catalogVersion;
+    private final RefreshTokenService refreshTokenService;
 
     public UserResponseDTO getAuthenticatedUserProfile() {
-        User user = getAuthenticatedUserEntity();
+        AuthenticatedUser user = getAuthenticatedUser();
 
-        return new UserResponseDTO(user.getId(), user.getName(), user.getEmail());
+        return new UserResponseDTO(user.id(), user.name(), user.email());
     }
 
-    public User getAuthenticatedUserEntity() {
+    public AuthenticatedUser getAuthenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
             throw new RuntimeException("Nenhum usuário autenticado encontrado.");
         }
 
-        String userEmail = authentication.getName();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return customUserDetailsService.loadUserByUsername(authentication.getName());
+    }
+
+    public String getAuthenticatedUserId() {
+        return getAuthenticatedUser().id();
+    }
+
+    /**
+     * Lazy reference to the authenticated user, usable as an association
+     * value without loading the row.
+     */
+    public User getAuthenticatedUserReference() {
+        return userRepository.getReferenceById(getAuthenticatedUserId());
+    }
+
+    public User getAuthenticatedUserEntity() {
+        AuthenticatedUser principal = getAuthenticatedUser();
 
-        return userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + userEmail));
+        return userRepository.findById(principal.id())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + principal.email()));
     }
 
+    @Transactional
     public UserResponseDTO updateUser(UserUpdateRequestDTO updateRequestDTO){
         User user = getAuthenticatedUserEntity();
 
@@ -44,6 +87,8 @@ public class UserService {
                 .ifPresent(user::setName);
 
         User updatedUser = userRepository.save(user);
+        String email = updatedUser.getEmail();
+        TransactionHooks.afterCommit(() -> principalCache.invalidate(email));
 
         UserResponseDTO userResponseDTO = new UserResponseDTO();
         userResponseDTO.setId(updatedUser.getId());
@@ -52,8 +97,31 @@ public class UserService {
         return userResponseDTO;
     }
 
+    /**
+     * The row, the cover references and the in-memory views go together: one
+     * transaction, with the indexes, counters and catalog version updated
+     * only once it commits.
+     */
+    @Transactional
     public void deleteUser(){
         User currentUser = getAuthenticatedUserEntity();
+        List<String> bookIds = currentUser.getBooksList().stream().map(Book::getId).toList();
+        List<GenreType> genres = currentUser.getBooksList().stream()
+                .filter(book -> !book.isDeleted() && book.getGenreTypes() != null)
+                .flatMap(book -> book.getGenreTypes().stream())
+                .toList();
         userRepository.delete(currentUser);
+        currentUser.getBooksList().forEach(book -> fileStorageService.releaseFile(book.getCoverImageName()));
+        refreshTokenService.revokeUser(currentUser.getId());
+        String email = currentUser.getEmail();
+        TransactionHooks.afterCommit(() -> {
+            principalCache.invalidate(email);
+            bookIds.forEach(bookId -> {
+                bookSearchIndex.remove(bookId);
+                bookTrigramIndex.remove(bookId);
+            });
+            genreStatsCounter.decrement(genres);
+            catalogVersion.bump();
+        });
     }
 }
@@ -0,0 +1,34 @@
+package com.librarymindxandria.backend.core.config;
+
+import com.librarymindxandria.backend.core.cache.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+class HibernateCacheConfigTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Test
+    void everyRegionHibernateUsesIsConfigured() {
+        // Regions are created up front ("fail" strategy), so a missing one would already have stopped the context
+        for (String region : entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getCacheRegionNames()) {
+            assertNotNull(hibernateCacheManager.getCache(region), region);
+        }
+        assertNotNull(hibernateCacheManager.getCache(CacheRegions.DEFAULT_QUERY_RESULTS));
+        assertNotNull(hibernateCacheManager.getCache(CacheRegions.UPDATE_TIMESTAMPS));
+    }
+}
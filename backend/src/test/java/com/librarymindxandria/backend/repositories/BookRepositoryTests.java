@@ -0,0 +1,113 @@
+package com.librarymindxandria.backend.repositories;
+
+import com.librarymindxandria.backend.dtos.book.BookGenreDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowDTO;
+import com.librarymindxandria.backend.dtos.genre.GenreStatDTO;
+import com.librarymindxandria.backend.enums.GenreType;
+import com.librarymindxandria.backend.models.Book;
+import com.librarymindxandria.backend.models.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookRepositoryTests {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Leitor");
+        user.setEmail("leitor@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+
+        for (int i = 0; i < 50; i++) {
+            Book book = new Book();
+            book.setName("Livro " + i);
+            book.setShortDescription("Descrição " + i);
+            book.setLongDescription("Descrição longa " + i);
+            book.setGenreTypes(List.of(GenreType.values()[i % GenreType.values().length],
+                    GenreType.values()[(i + 1) % GenreType.values().length]));
+            book.setUser(user);
+            entityManager.persist(book);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void pageOfRowsLoadsInFixedNumberOfStatements() {
+        Page<BookRowDTO> page = bookRepository.findAllRows(true, PageRequest.of(0, 20));
+        List<BookGenreDTO> genres = bookRepository.findGenresByBookIds(
+                page.getContent().stream().map(BookRowDTO::getId).toList());
+
+        assertEquals(20, page.getContent().size());
+        assertEquals(50, page.getTotalElements());
+        assertEquals(40, genres.size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void userRowsLoadInFixedNumberOfStatements() {
+        List<BookRowDTO> rows = bookRepository.findRowsByUserId(user.getId(), true);
+        List<BookGenreDTO> genres = bookRepository.findGenresByBookIds(
+                rows.stream().map(BookRowDTO::getId).toList());
+
+        assertEquals(50, rows.size());
+        assertEquals(100, genres.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void summaryRowsLeaveLongDescriptionOut() {
+        List<BookRowDTO> rows = bookRepository.findAllRows(false, PageRequest.of(0, 5)).getContent();
+
+        assertEquals(5, rows.size());
+        rows.forEach(row -> assertNull(row.getLongDescription()));
+    }
+
+    @Test
+    void tombstonedBooksAreLeftOutOfReads() {
+        List<String> ids = bookRepository.findRowsByUserId(user.getId(), false).stream()
+                .map(BookRowDTO::getId).toList();
+        String deletedId = ids.get(0);
+        Book deleted = entityManager.find(Book.class, deletedId);
+        deleted.setDeletedAt(LocalDateTime.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(49, bookRepository.findAllRows(false, PageRequest.of(0, 20)).getTotalElements());
+        assertEquals(49, bookRepository.findRowsByUserId(user.getId(), false).size());
+        assertTrue(bookRepository.findRowsByIds(List.of(deletedId), false).isEmpty());
+        assertEquals(98, bookRepository.countBooksByGenre().stream().mapToLong(GenreStatDTO::getCount).sum());
+    }
+}
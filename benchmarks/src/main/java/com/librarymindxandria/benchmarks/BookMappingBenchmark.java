@@ -0,0 +1,91 @@
+package com.librarymindxandria.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.librarymindxandria.backend.dtos.book.BookResponseDTO;
+import com.librarymindxandria.backend.models.Book;
+import com.librarymindxandria.backend.repositories.FileBlobRepository;
+import com.librarymindxandria.backend.services.BookService;
+import com.librarymindxandria.backend.services.FileStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockServletContext;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Entity to DTO mapping and JSON serialization of a listing page.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMappingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private Path uploadDir;
+    private BookService bookService;
+    private MethodHandle mapBookToDTO;
+    private Book book;
+    private ObjectMapper objectMapper;
+    private Page<BookResponseDTO> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException, IOException {
+        Fixtures.bindRequest();
+        uploadDir = Files.createTempDirectory("bench-mapping");
+        FileStorageService fileStorageService = new FileStorageService(uploadDir.toString(), false, false, 3_600_000L,
+                new MockServletContext(), Fixtures.stubRepository(FileBlobRepository.class));
+        fileStorageService.init();
+
+        bookService = new BookService(null, null, fileStorageService, null, null, null, null, null);
+        mapBookToDTO = MethodHandles.privateLookupIn(BookService.class, MethodHandles.lookup())
+                .findVirtual(BookService.class, "mapBookToDTO", MethodType.methodType(BookResponseDTO.class, Book.class));
+        book = Fixtures.book(1);
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        List<BookResponseDTO> content = IntStream.range(0, pageSize).mapToObj(Fixtures::response).toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Fixtures.deleteRecursively(uploadDir);
+    }
+
+    @Benchmark
+    public BookResponseDTO mapBookToDTO() throws Throwable {
+        return (BookResponseDTO) mapBookToDTO.invoke(bookService, book);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
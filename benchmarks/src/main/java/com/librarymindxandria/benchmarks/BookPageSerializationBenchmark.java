@@ -0,0 +1,112 @@
+package com.librarymindxandria.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymindxandria.backend.core.web.BookPageWriter;
+import com.librarymindxandria.backend.dtos.book.BookResponseDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowPageDTO;
+import com.librarymindxandria.backend.enums.GenreType;
+import com.librarymindxandria.backend.repositories.FileBlobRepository;
+import com.librarymindxandria.backend.services.FileStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockServletContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * One {@code /books/all} page from projected rows to bytes: the DTO mapping
+ * plus Jackson path against {@link BookPageWriter}. Run with {@code -prof gc}
+ * to compare the allocation rate ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookPageSerializationBenchmark {
+
+    @Param({"100"})
+    public int pageSize;
+
+    private Path uploadDir;
+    private FileStorageService fileStorageService;
+    private ObjectMapper objectMapper;
+    private BookPageWriter bookPageWriter;
+    private BookRowPageDTO page;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Fixtures.bindRequest();
+        uploadDir = Files.createTempDirectory("bench-page");
+        fileStorageService = new FileStorageService(uploadDir.toString(), false, false, 3_600_000L,
+                new MockServletContext(), Fixtures.stubRepository(FileBlobRepository.class));
+        fileStorageService.init();
+
+        objectMapper = new ObjectMapper();
+        bookPageWriter = new BookPageWriter(objectMapper, fileStorageService);
+
+        List<BookRowDTO> rows = IntStream.range(0, pageSize).mapToObj(Fixtures::row).collect(Collectors.toList());
+        Map<String, List<GenreType>> genres = rows.stream()
+                .collect(Collectors.toMap(BookRowDTO::getId, row -> List.of(GenreType.FANTASY, GenreType.ADVENTURE)));
+        page = new BookRowPageDTO(new PageImpl<>(rows, PageRequest.of(0, pageSize), 10_000), genres);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Fixtures.deleteRecursively(uploadDir);
+    }
+
+    /**
+     * The previous path: one DTO and one request-parsing URL build per row,
+     * then reflective serialization of {@code PageImpl}.
+     */
+    @Benchmark
+    public int dtoAndJackson() throws IOException {
+        List<BookResponseDTO> content = new ArrayList<>(pageSize);
+        for (BookRowDTO row : page.getRows().getContent()) {
+            BookResponseDTO dto = new BookResponseDTO();
+            dto.setId(row.getId());
+            dto.setName(row.getName());
+            dto.setShortDescription(row.getShortDescription());
+            dto.setLongDescription(row.getLongDescription());
+            dto.setGenreType(page.getGenresByBook().getOrDefault(row.getId(), List.of()));
+            dto.setCoverImageUrl(fileStorageService.buildFileUri(row.getCoverImageName()));
+            content.add(dto);
+        }
+        out.reset();
+        objectMapper.writeValue(out, new PageImpl<>(content, page.getRows().getPageable(), page.getRows().getTotalElements()));
+        return out.size();
+    }
+
+    @Benchmark
+    public int rowWriter() throws IOException {
+        out.reset();
+        bookPageWriter.write(page, out);
+        return out.size();
+    }
+}
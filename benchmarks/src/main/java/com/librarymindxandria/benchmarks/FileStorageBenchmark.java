@@ -0,0 +1,205 @@
+package com.librarymindxandria.benchmarks;
+
+import com.librarymindxandria.backend.core.web.FileResponseWriter;
+import com.librarymindxandria.backend.dtos.upload.LoadedFile;
+import com.librarymindxandria.backend.services.FileStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload storage (hash, staged write, atomic rename) for new and duplicate
+ * content, file lookup and the download path through
+ * {@link FileResponseWriter}, including the 304 answer to a revalidation.
+ * The socket variants send the body over loopback to a draining reader:
+ * the old {@code UrlResource} stream copy as baseline against the sendfile
+ * path, where the writer only hands the file to the connector and the
+ * connector's {@code transferTo} is reproduced here.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileStorageBenchmark {
+
+    @Param({"65536", "1048576"})
+    public int fileSize;
+
+    private Path uploadDir;
+    private FileStorageService fileStorageService;
+    private FileResponseWriter fileResponseWriter;
+    private MockMultipartFile upload;
+    private String storedName;
+    private String etag;
+    private ServerSocketChannel server;
+    private SocketChannel socket;
+    private Thread drain;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        uploadDir = Files.createTempDirectory("bench-files");
+        fileStorageService = new FileStorageService(uploadDir.toString(), false, false, 3_600_000L,
+                new MockServletContext(), Fixtures.blobRepository());
+        fileStorageService.init();
+        fileResponseWriter = new FileResponseWriter();
+
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        upload = new MockMultipartFile("file", "capa.jpg", "image/jpeg", content);
+        storedName = fileStorageService.storeFile(upload);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileResponseWriter.write(fileStorageService.loadFileAsResource(storedName), true,
+                new MockHttpServletRequest("GET", "/files/" + storedName), response);
+        etag = response.getHeader(HttpHeaders.ETAG);
+
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        socket = SocketChannel.open(server.getLocalAddress());
+        SocketChannel peer = server.accept();
+        drain = Thread.ofPlatform().daemon().name("bench-drain").start(() -> drain(peer));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        socket.close();
+        drain.join();
+        server.close();
+        Fixtures.deleteRecursively(uploadDir);
+    }
+
+    /**
+     * Content that was never stored: hashed, staged and renamed into its shard.
+     */
+    @State(Scope.Thread)
+    public static class NewUpload {
+        private long sequence;
+        private MockMultipartFile file;
+        private String storedName;
+
+        @Setup(Level.Invocation)
+        public void prepare(FileStorageBenchmark benchmark) throws IOException {
+            byte[] content = benchmark.upload.getBytes().clone();
+            ByteBuffer.wrap(content).putLong(++sequence);
+            file = new MockMultipartFile("file", "capa.jpg", "image/jpeg", content);
+        }
+
+        @TearDown(Level.Invocation)
+        public void delete(FileStorageBenchmark benchmark) throws IOException {
+            Files.deleteIfExists(benchmark.fileStorageService.resolvePath(storedName));
+        }
+    }
+
+    @Benchmark
+    public String storeNewFile(NewUpload newUpload) {
+        newUpload.storedName = fileStorageService.storeFile(newUpload.file);
+        return newUpload.storedName;
+    }
+
+    /**
+     * Same content as an existing blob: hashed, then only the reference count moves.
+     */
+    @Benchmark
+    public String storeDuplicateFile() {
+        return fileStorageService.storeFile(upload);
+    }
+
+    @Benchmark
+    public LoadedFile loadFileAsResource() {
+        return fileStorageService.loadFileAsResource(storedName);
+    }
+
+    @Benchmark
+    public int serveFile() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileResponseWriter.write(fileStorageService.loadFileAsResource(storedName), true,
+                new MockHttpServletRequest("GET", "/files/" + storedName), response);
+        return response.getContentAsByteArray().length;
+    }
+
+    /**
+     * Download before {@link FileResponseWriter}: a {@link UrlResource} whose
+     * stream is copied through a heap buffer, as the resource message
+     * converter did.
+     */
+    @Benchmark
+    public long serveFileUrlResourceBaseline() throws IOException {
+        Resource resource = new UrlResource(fileStorageService.resolvePath(storedName).toUri());
+        try (InputStream in = resource.getInputStream()) {
+            return StreamUtils.copy(in, Channels.newOutputStream(socket));
+        }
+    }
+
+    @Benchmark
+    public long serveFileSendfile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/" + storedName);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        fileResponseWriter.write(fileStorageService.loadFileAsResource(storedName), true,
+                request, new MockHttpServletResponse());
+
+        long start = (Long) request.getAttribute("org.apache.tomcat.sendfile.start");
+        long end = (Long) request.getAttribute("org.apache.tomcat.sendfile.end");
+        try (FileChannel channel = FileChannel.open(
+                Path.of((String) request.getAttribute("org.apache.tomcat.sendfile.filename")), StandardOpenOption.READ)) {
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, socket);
+            }
+            return position - start;
+        }
+    }
+
+    @Benchmark
+    public int serveNotModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/" + storedName);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileResponseWriter.write(fileStorageService.loadFileAsResource(storedName), true, request, response);
+        return response.getStatus();
+    }
+
+    private static void drain(SocketChannel peer) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+        try (peer) {
+            while (peer.read(buffer.clear()) >= 0) {
+                // discard
+            }
+        } catch (IOException ignored) {
+            // socket closed at tear down
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.librarymindxandria.benchmarks;
+
+import com.librarymindxandria.backend.dtos.book.BookResponseDTO;
+import com.librarymindxandria.backend.dtos.book.BookRowDTO;
+import com.librarymindxandria.backend.enums.GenreType;
+import com.librarymindxandria.backend.models.Book;
+import com.librarymindxandria.backend.repositories.FileBlobRepository;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared benchmark data and stand-ins for the pieces that normally come from
+ * the Spring context (current request, repositories).
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * {@code buildFileUri} reads the context path of the current request,
+     * which lives in a thread local.
+     */
+    static void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /**
+     * Repository stub: writes return their argument, counters return zero and
+     * finders return nothing.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stubRepository(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            return switch (method.getName()) {
+                case "save", "saveAndFlush" -> args[0];
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> {
+                    if (returnType == int.class) {
+                        yield 0;
+                    }
+                    if (returnType == long.class) {
+                        yield 0L;
+                    }
+                    if (returnType == boolean.class) {
+                        yield false;
+                    }
+                    if (returnType == Optional.class) {
+                        yield Optional.empty();
+                    }
+                    if (List.class.isAssignableFrom(returnType)) {
+                        yield List.of();
+                    }
+                    yield null;
+                }
+            };
+        });
+    }
+
+    /**
+     * Blob repository stub that remembers inserted names, so storing the same
+     * content again takes the deduplication path (the reference count is
+     * bumped and nothing is written).
+     */
+    static FileBlobRepository blobRepository() {
+        Set<String> blobs = ConcurrentHashMap.newKeySet();
+        FileBlobRepository fallback = stubRepository(FileBlobRepository.class);
+        return (FileBlobRepository) Proxy.newProxyInstance(FileBlobRepository.class.getClassLoader(),
+                new Class<?>[]{FileBlobRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "insertIfAbsent" -> blobs.add((String) args[1]) ? 1 : 0;
+                    case "incrementRefCount" -> blobs.contains((String) args[0]) ? 1 : 0;
+                    default -> {
+                        try {
+                            yield method.invoke(fallback, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    }
+                });
+    }
+
+    static Book book(int index) {
+        Book book = new Book();
+        book.setId(UUID.nameUUIDFromBytes(("book-" + index).getBytes()).toString());
+        book.setName("O Nome do Vento " + index);
+        book.setShortDescription("A história de Kvothe, contada por ele mesmo. Volume " + index + ".");
+        book.setLongDescription("Descrição longa ".repeat(150) + index);
+        book.setGenreTypes(List.of(GenreType.FANTASY, GenreType.ADVENTURE));
+        book.setCoverImageName(String.format("%064x", index) + ".jpg");
+        book.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(index));
+        return book;
+    }
+
+    static BookResponseDTO response(int index) {
+        Book book = book(index);
+        BookResponseDTO dto = new BookResponseDTO();
+        dto.setId(book.getId());
+        dto.setName(book.getName());
+        dto.setShortDescription(book.getShortDescription());
+        dto.setLongDescription(book.getLongDescription());
+        dto.setGenreType(book.getGenreTypes());
+        dto.setCoverImageUrl("http://localhost:8080/files/" + book.getCoverImageName());
+        return dto;
+    }
+
+    /**
+     * Projected row as returned by the catalog queries.
+     */
+    record Row(String id, String name, String shortDescription, String longDescription,
+               String coverImageName, LocalDateTime createdAt) implements BookRowDTO {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getShortDescription() {
+            return shortDescription;
+        }
+
+        @Override
+        public String getLongDescription() {
+            return longDescription;
+        }
+
+        @Override
+        public String getCoverImageName() {
+            return coverImageName;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+    }
+
+    static Row row(int index) {
+        Book book = book(index);
+        return new Row(book.getId(), book.getName(), book.getShortDescription(), null,
+                book.getCoverImageName(), book.getCreatedAt());
+    }
+
+    static void deleteRecursively(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.librarymindxandria.benchmarks;
+
+import com.librarymindxandria.backend.core.stats.GenreStatsCounter;
+import com.librarymindxandria.backend.dtos.genre.GenreStatDTO;
+import com.librarymindxandria.backend.enums.GenreType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /books/stats served from the in-memory counters, with writers updating
+ * them concurrently. The GROUP BY it replaced needs a database and is covered
+ * by the load-test harness instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class GenreStatsBenchmark {
+    private static final List<GenreType> GENRES = List.of(GenreType.FANTASY, GenreType.MYSTERY);
+
+    private GenreStatsCounter counter;
+
+    @Setup
+    public void setUp() {
+        counter = new GenreStatsCounter(null, null);
+        for (GenreType genre : GenreType.values()) {
+            for (int i = 0; i <= genre.ordinal(); i++) {
+                counter.increment(List.of(genre));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<GenreStatDTO> snapshot() {
+        return counter.snapshot();
+    }
+
+    @Benchmark
+    public void incrementAndDecrement() {
+        counter.increment(GENRES);
+        counter.decrement(GENRES);
+    }
+}
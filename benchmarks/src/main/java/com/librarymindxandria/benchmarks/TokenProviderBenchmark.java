@@ -0,0 +1,74 @@
+package com.librarymindxandria.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.librarymindxandria.backend.core.security.token.TokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification. {@code legacyFilterPath} reproduces what the
+ * JWT filter did before verified tokens were cached: a fresh verifier and two
+ * HMAC checks per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenProviderBenchmark {
+    private static final String SECRET = "benchmark-secret-".repeat(8);
+
+    private TokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new TokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 600000L);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedCacheMaxSize", 10000);
+        tokenProvider.init();
+
+        authentication = new UsernamePasswordAuthenticationToken("leitor@example.com", null, List.of());
+        token = tokenProvider.generateAccessToken(authentication);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return tokenProvider.generateAccessToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String resolveUsernameCached() {
+        return tokenProvider.resolveUsername(token);
+    }
+
+    @Benchmark
+    public String legacyFilterPath() {
+        Algorithm algorithm = Algorithm.HMAC512(SECRET);
+        JWT.require(algorithm).build().verify(token);
+        return JWT.require(Algorithm.HMAC512(SECRET)).build().verify(token).getSubject();
+    }
+}
@@ -0,0 +1,72 @@
+package com.librarymindxandria.benchmarks;
+
+import com.librarymindxandria.backend.core.search.BookTrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy title search over synthetic catalogs of growing size. Sampled so the
+ * JSON results carry the latency percentiles (p99) and not only the mean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TrigramSearchBenchmark {
+    private static final String[] WORDS = {
+            "sombra", "vento", "reino", "espada", "noite", "mar", "cidade", "infinita", "memória", "fogo",
+            "estrela", "jardim", "silêncio", "guerra", "paz", "livro", "ilha", "rio", "lobo", "coroa",
+            "labirinto", "biblioteca", "tempo", "deserto", "montanha", "segredo", "sangue", "pedra", "luz", "abismo"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    public int titles;
+
+    private BookTrigramIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new BookTrigramIndex(null, 500, 200_000, 0.3);
+        Random random = new Random(7);
+        for (int i = 0; i < titles; i++) {
+            index.index("book-" + i, title(random) + " " + i);
+        }
+        queries = new String[]{"biblioteka infinta", "sombar do vento", "coroa de espdas", "labirinto", "memoria do mar"};
+    }
+
+    @Benchmark
+    public List<String> search() {
+        String query = queries[next];
+        next = (next + 1) % queries.length;
+        return index.search(query);
+    }
+
+    private static String title(Random random) {
+        int words = 2 + random.nextInt(3);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return title.toString();
+    }
+}
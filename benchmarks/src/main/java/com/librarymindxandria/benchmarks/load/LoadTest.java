@@ -0,0 +1,314 @@
+package com.librarymindxandria.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator for a running backend (for example the {@code local} profile
+ * on H2). Seeds a catalog through the bulk import, gives every worker its own
+ * account, book and pre-rendered cover, then runs a weighted mix of scenarios
+ * for a fixed time and reports per-endpoint throughput and HdrHistogram
+ * percentiles.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.librarymindxandria.benchmarks.load.LoadTest \
+ *     --base-url=http://localhost:8080 --workers=64 --duration=60 --books=5000 --label=virtual
+ * </pre>
+ */
+public class LoadTest {
+    private static final String[] WORDS = {
+            "sombra", "vento", "reino", "espada", "noite", "mar", "cidade", "infinita", "memória", "fogo",
+            "estrela", "jardim", "silêncio", "guerra", "livro", "ilha", "rio", "lobo", "coroa", "biblioteca"
+    };
+    private static final String PASSWORD = "load-test-password";
+
+    enum Scenario {
+        BROWSE("GET /books/all", 35),
+        SEARCH("GET /books/all?search", 20),
+        COVER_FETCH("GET /files/{name}", 25),
+        LOGIN("POST /auth/login", 5),
+        REGISTER("POST /auth/register", 3),
+        REFRESH("POST /auth/refresh", 7),
+        COVER_UPLOAD("POST /books/{id}/cover", 5);
+
+        private final String endpoint;
+        private final int weight;
+
+        Scenario(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+    }
+
+    private final LoadClient client;
+    private final Map<String, String> options;
+    private final Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+    private final int books;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    LoadTest(LoadClient client, Map<String, String> options) {
+        this.client = client;
+        this.options = options;
+        this.books = Integer.parseInt(options.get("books"));
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new EndpointStats(scenario.endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("base-url", "http://localhost:8080");
+        options.put("workers", "32");
+        options.put("duration", "60");
+        options.put("books", "5000");
+        options.put("label", "default");
+        options.put("output", "load-result.json");
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use --chave=valor)");
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            LoadTest loadTest = new LoadTest(new LoadClient(options.get("base-url"), executor), options);
+            loadTest.seed();
+            loadTest.run(executor);
+        }
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        String accessToken = client.registerAndLogin("Carga", "seed@load.test", PASSWORD).get("accessToken").asText();
+
+        Path ndjson = Files.createTempFile("load-books", ".ndjson");
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            try (BufferedWriter writer = Files.newBufferedWriter(ndjson, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < books; i++) {
+                    Map<String, Object> book = new HashMap<>();
+                    book.put("name", title(i));
+                    book.put("shortDescription", "Livro de carga número " + i);
+                    book.put("longDescription", "Descrição longa ".repeat(40));
+                    book.put("genreType", List.of(i % 2 == 0 ? "FANTASY" : "MYSTERY"));
+                    writer.write(mapper.writeValueAsString(book));
+                    writer.newLine();
+                }
+            }
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.postNdjson("/books/bulk", ndjson, accessToken);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Importação inicial falhou com status " + response.statusCode());
+            }
+            System.out.printf("Catálogo semeado: %d livros em %d ms%n", books, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } finally {
+            Files.deleteIfExists(ndjson);
+        }
+    }
+
+    private void run(ExecutorService executor) throws Exception {
+        int workers = Integer.parseInt(options.get("workers"));
+        long durationSeconds = Long.parseLong(options.get("duration"));
+        List<Worker> prepared = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            prepared.add(prepare(i));
+        }
+
+        Instant deadline = Instant.now().plusSeconds(durationSeconds);
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        for (Worker worker : prepared) {
+            running.add(executor.submit(() -> worker.runUntil(deadline)));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(seconds);
+    }
+
+    private Worker prepare(int index) throws IOException, InterruptedException {
+        String email = "worker-" + runId + "-" + index + "@load.test";
+        JsonNode tokens = client.registerAndLogin("Worker " + index, email, PASSWORD);
+        Worker worker = new Worker(email, tokens.get("accessToken").asText(), tokens.get("refreshToken").asText(), renderCover());
+
+        Map<String, Object> book = Map.of("name", "Livro do worker " + index, "shortDescription", "Capa de carga");
+        worker.bookId = client.json(client.postJson("/books/upload", book, worker.accessToken)).get("id").asText();
+        worker.uploadCover();
+        return worker;
+    }
+
+    private void report(double seconds) throws IOException {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        System.out.printf("%n%-24s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.finish();
+            Map<String, Object> summary = endpoint.summary(seconds);
+            endpoints.add(summary);
+            System.out.printf("%-24s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    summary.get("endpoint"), summary.get("requests"), summary.get("errors"), summary.get("throughput"),
+                    summary.get("p50Ms"), summary.get("p90Ms"), summary.get("p99Ms"), summary.get("p999Ms"), summary.get("maxMs"));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", options.get("label"));
+        result.put("options", options);
+        result.put("durationSeconds", seconds);
+        result.put("endpoints", endpoints);
+        Path output = Path.of(options.get("output"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), result);
+        System.out.printf("%nResultados gravados em %s%n", output.toAbsolutePath());
+    }
+
+    private static String title(int index) {
+        return WORDS[index % WORDS.length] + " " + WORDS[(index / WORDS.length) % WORDS.length] + " " + index;
+    }
+
+    private static Scenario pick() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        for (Scenario scenario : Scenario.values()) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return Scenario.BROWSE;
+    }
+
+    private class Worker {
+        private final String email;
+        private String accessToken;
+        private String refreshToken;
+        private String bookId;
+        private String coverPath;
+        private final byte[] baseCover;
+
+        Worker(String email, String accessToken, String refreshToken, byte[] baseCover) {
+            this.email = email;
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.baseCover = baseCover;
+        }
+
+        void runUntil(Instant deadline) {
+            while (Instant.now().isBefore(deadline)) {
+                Scenario scenario = pick();
+                EndpointStats endpoint = stats.get(scenario);
+                long start = System.nanoTime();
+                try {
+                    if (execute(scenario)) {
+                        endpoint.success(System.nanoTime() - start);
+                    } else {
+                        endpoint.error();
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    endpoint.error();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private boolean execute(Scenario scenario) throws IOException, InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (scenario) {
+                case BROWSE -> ok(client.get("/books/all?view=summary&size=20&page=" + random.nextInt(Math.max(1, books / 20)), null));
+                case SEARCH -> ok(client.get("/books/all?size=20&search=" + LoadClient.encode(WORDS[random.nextInt(WORDS.length)]), null));
+                case COVER_FETCH -> ok(client.get(coverPath + "?size=thumb", null));
+                case LOGIN -> {
+                    HttpResponse<byte[]> response = client.postJson("/auth/login", Map.of("email", email, "password", PASSWORD), null);
+                    if (ok(response)) {
+                        JsonNode tokens = client.json(response);
+                        accessToken = tokens.get("accessToken").asText();
+                        refreshToken = tokens.get("refreshToken").asText();
+                    }
+                    yield ok(response);
+                }
+                case REGISTER -> {
+                    String newEmail = "register-" + runId + "-" + sequence.incrementAndGet() + "@load.test";
+                    yield ok(client.postJson("/auth/register",
+                            Map.of("name", "Cadastro de carga", "email", newEmail, "password", PASSWORD), null));
+                }
+                case REFRESH -> {
+                    HttpResponse<byte[]> response = client.postJson("/auth/refresh", Map.of("refreshToken", refreshToken), null);
+                    if (ok(response)) {
+                        JsonNode tokens = client.json(response);
+                        accessToken = tokens.get("accessToken").asText();
+                        refreshToken = tokens.get("refreshToken").asText();
+                    }
+                    yield ok(response);
+                }
+                case COVER_UPLOAD -> uploadCover();
+            };
+        }
+
+        boolean uploadCover() throws IOException, InterruptedException {
+            HttpResponse<byte[]> response = client.postFile("/books/" + bookId + "/cover", "capa.png", "image/png", cover(), accessToken);
+            if (!ok(response)) {
+                return false;
+            }
+            String url = client.json(response).get("coverImageUrl").asText();
+            coverPath = url.substring(url.indexOf("/files/"));
+            return true;
+        }
+
+        private boolean ok(HttpResponse<byte[]> response) {
+            return response.statusCode() >= 200 && response.statusCode() < 400;
+        }
+
+        /**
+         * New content every time, so each upload stores a new blob and queues
+         * new thumbnails. The image is rendered once in {@link #prepare}; only a
+         * counter appended after the PNG trailer (ignored by decoders) changes,
+         * so the client does no image work inside the timed region.
+         */
+        private byte[] cover() {
+            byte[] cover = Arrays.copyOf(baseCover, baseCover.length + Long.BYTES);
+            ByteBuffer.wrap(cover, baseCover.length, Long.BYTES).putLong(sequence.incrementAndGet());
+            return cover;
+        }
+    }
+
+    private static byte[] renderCover() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BufferedImage image = new BufferedImage(800, 1200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,4 @@
+package com.librarymindxandria.benchmarks.jmh_generated;
+public class BookMappingBenchmark_jmhType extends BookMappingBenchmark_jmhType_B3 {
+}
+
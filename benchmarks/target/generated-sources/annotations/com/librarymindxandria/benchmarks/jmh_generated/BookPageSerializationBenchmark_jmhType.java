@@ -0,0 +1,4 @@
+package com.librarymindxandria.benchmarks.jmh_generated;
+public class BookPageSerializationBenchmark_jmhType extends BookPageSerializationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.librarymindxandria.benchmarks.jmh_generated;
+public class FileStorageBenchmark_NewUpload_jmhType extends FileStorageBenchmark_NewUpload_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.librarymindxandria.benchmarks.jmh_generated;
+public class FileStorageBenchmark_jmhType extends FileStorageBenchmark_jmhType_B3 {
+}
+
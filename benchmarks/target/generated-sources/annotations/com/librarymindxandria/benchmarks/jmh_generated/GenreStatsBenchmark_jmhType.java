@@ -0,0 +1,4 @@
+package com.librarymindxandria.benchmarks.jmh_generated;
+public class GenreStatsBenchmark_jmhType extends GenreStatsBenchmark_jmhType_B3 {
+}
+
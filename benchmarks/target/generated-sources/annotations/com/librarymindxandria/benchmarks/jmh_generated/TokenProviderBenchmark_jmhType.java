@@ -0,0 +1,4 @@
+package com.librarymindxandria.benchmarks.jmh_generated;
+public class TokenProviderBenchmark_jmhType extends TokenProviderBenchmark_jmhType_B3 {
+}
+
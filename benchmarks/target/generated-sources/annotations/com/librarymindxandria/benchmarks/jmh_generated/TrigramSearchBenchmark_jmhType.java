@@ -0,0 +1,4 @@
+package com.librarymindxandria.benchmarks.jmh_generated;
+public class TrigramSearchBenchmark_jmhType extends TrigramSearchBenchmark_jmhType_B3 {
+}
+